@@ -0,0 +1,86 @@
+package genetics.benchmarks;
+
+import genetics.BatchEvaluator;
+import genetics.Chromosome;
+import genetics.GeneticConstants;
+import genetics.GeneticUtils;
+import genetics.Individual;
+import genetics.PopulationColumns;
+import org.openjdk.jmh.annotations.*;
+import schedule.ScheduleProblem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Assignment scores of a whole population: per individual, and from the column layout with and without SIMD lanes.
+    The SIMD lanes need the parent installed with -Pvector, otherwise the vector benchmarks run the scalar loop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchEvaluationBenchmark {
+
+    @Param({"11", "110", "550"})
+    public int activityCount;
+
+    private ScheduleProblem problem;
+    private List<Individual> individuals;
+    private PopulationColumns columns;
+    private BatchEvaluator vectorEvaluator;
+    private BatchEvaluator scalarEvaluator;
+    private double[] scores;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        problem = BenchmarkProblems.withActivities(activityCount);
+        individuals = new ArrayList<>(GeneticConstants.POP_SIZE);
+        for(int i = 0; i < GeneticConstants.POP_SIZE; i++) {
+            individuals.add(new Individual(Chromosome.random(problem, random)));
+        }
+        columns = new PopulationColumns(problem, individuals.size());
+        columns.load(individuals);
+        vectorEvaluator = BatchEvaluator.forProblem(problem);
+        scalarEvaluator = BatchEvaluator.scalar(problem);
+        scores = new double[individuals.size()];
+    }
+
+    @Benchmark
+    public double[] perIndividual() {
+        for(int i = 0; i < individuals.size(); i++) {
+            Chromosome chromosome = individuals.get(i).chromosome();
+            double score = 0;
+            for(int gene = 0; gene < chromosome.length(); gene++) {
+                score += GeneticUtils.assignmentScore(problem, gene, chromosome.room(gene), chromosome.facilitator(gene));
+            }
+            scores[i] = score;
+        }
+        return scores;
+    }
+
+    @Benchmark
+    public double[] scalarColumns() {
+        scalarEvaluator.assignmentScores(columns, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public double[] vectorColumns() {
+        vectorEvaluator.assignmentScores(columns, scores);
+        return scores;
+    }
+
+    //Includes the transposition into columns, the cost a generation would actually pay
+    @Benchmark
+    public double[] loadAndVector() {
+        columns.load(individuals);
+        vectorEvaluator.assignmentScores(columns, scores);
+        return scores;
+    }
+}
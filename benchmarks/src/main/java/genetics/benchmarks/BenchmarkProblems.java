@@ -0,0 +1,55 @@
+package genetics.benchmarks;
+
+import genetics.Chromosome;
+import genetics.Individual;
+import schedule.Activity;
+import schedule.Constraint;
+import schedule.ScheduleConstants;
+import schedule.ScheduleProblem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+//Problem instances of a given size, built by repeating the sections of the real schedule
+final class BenchmarkProblems {
+
+    private BenchmarkProblems() {
+    }
+
+    static ScheduleProblem withActivities(int activityCount) {
+        if(activityCount == ScheduleConstants.NUMBER_OF_ACTIVITIES) {
+            return ScheduleProblem.DEFAULT;
+        }
+        List<Activity> activities = new ArrayList<>(activityCount);
+        for(int i = 0; i < activityCount; i++) {
+            Activity activity = ScheduleConstants.ACTIVITIES.get(i % ScheduleConstants.NUMBER_OF_ACTIVITIES);
+            int copy = i / ScheduleConstants.NUMBER_OF_ACTIVITIES;
+            activities.add(copy == 0 ? activity : new Activity(
+                    activity.name() + "-" + copy,
+                    activity.expectedEnrollment(),
+                    activity.preferredFacilitators(),
+                    activity.otherFacilitators()
+            ));
+        }
+        //The original sections keep their names, so the SLA constraints apply as soon as all of them are present
+        List<String> names = activities.stream().map(Activity::name).toList();
+        List<Constraint> constraints = ScheduleConstants.CONSTRAINTS.stream()
+                .filter(constraint -> names.containsAll(constraint.activityNames()))
+                .toList();
+        return new ScheduleProblem(activities, ScheduleConstants.ROOMS, ScheduleConstants.TIMES, ScheduleConstants.FACILITATORS,
+                constraints, ScheduleConstants.DISTANT_ROOMS, ScheduleConstants.LOAD_EXEMPT_FACILITATORS);
+    }
+
+    //Fitness of random schedules, its spread grows with the activity count and shapes the selection probabilities
+    static double[] randomFitness(int activityCount, int populationSize, SplittableRandom random) {
+        ScheduleProblem problem = withActivities(activityCount);
+        double[] fitness = new double[populationSize];
+        for(int i = 0; i < populationSize; i++) {
+            Individual individual = new Individual(Chromosome.random(problem, random));
+            individual.calculateFitness();
+            fitness[i] = individual.getFitness();
+        }
+        return fitness;
+    }
+}
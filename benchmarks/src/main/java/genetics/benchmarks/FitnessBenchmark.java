@@ -0,0 +1,68 @@
+package genetics.benchmarks;
+
+import genetics.Chromosome;
+import genetics.GeneticInformation;
+import genetics.GeneticUtils;
+import genetics.Individual;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import schedule.ScheduleProblem;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+//Each call scores the next schedule of a population, so the working set grows with the population like in a generation
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FitnessBenchmark {
+
+    @Param({"100", "1000"})
+    public int populationSize;
+
+    @Param({"11", "110", "550"})
+    public int activityCount;
+
+    private Chromosome[] chromosomes;
+    private Individual[] individuals;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ScheduleProblem problem = BenchmarkProblems.withActivities(activityCount);
+        chromosomes = new Chromosome[populationSize];
+        individuals = new Individual[populationSize];
+        for(int i = 0; i < populationSize; i++) {
+            chromosomes[i] = Chromosome.random(problem, random);
+            individuals[i] = new Individual(chromosomes[i].copy());
+            individuals[i].geneList();
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == populationSize ? 0 : index + 1;
+        return index;
+    }
+
+    //Full evaluation, a fresh individual every call so no incremental state is reused
+    @Benchmark
+    public double individualCalculateFitness() {
+        Individual fresh = new Individual(chromosomes[nextIndex()]);
+        fresh.calculateFitness();
+        return fresh.getFitness();
+    }
+
+    //The object-graph rules for every gene
+    @Benchmark
+    public void geneticUtilsCalculateFitness(Blackhole blackhole) {
+        Individual individual = individuals[nextIndex()];
+        for(GeneticInformation geneticInformation : individual.geneList()) {
+            blackhole.consume(GeneticUtils.calculateFitness(geneticInformation, individual));
+        }
+    }
+}
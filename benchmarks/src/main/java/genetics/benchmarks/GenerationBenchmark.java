@@ -0,0 +1,40 @@
+package genetics.benchmarks;
+
+import genetics.Population;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({"100", "1000"})
+    public int populationSize;
+
+    @Param({"11", "110"})
+    public int activityCount;
+
+    @Param({"false", "true"})
+    public boolean pipelined;
+
+    private Population population;
+
+    //A fresh population per iteration so later iterations do not measure a converged population only
+    @Setup(Level.Iteration)
+    public void setUp() {
+        population = new Population(BenchmarkProblems.withActivities(activityCount), populationSize, new SplittableRandom(42));
+        population.setPipelined(pipelined);
+    }
+
+    @Benchmark
+    public Population runGeneration() {
+        population.runGeneration();
+        return population;
+    }
+}
@@ -0,0 +1,73 @@
+package genetics.benchmarks;
+
+import genetics.Chromosome;
+import genetics.GeneticConstants;
+import genetics.Individual;
+import org.openjdk.jmh.annotations.*;
+import schedule.ScheduleProblem;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+//Parents and mutants are drawn from a population, so the working set grows with the population like in a generation
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReproductionBenchmark {
+
+    @Param({"100", "1000"})
+    public int populationSize;
+
+    @Param({"11", "110", "550"})
+    public int activityCount;
+
+    private Individual[] parents;
+    private Individual[] mutants;
+    private Individual child1;
+    private Individual child2;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        ScheduleProblem problem = BenchmarkProblems.withActivities(activityCount);
+        parents = new Individual[populationSize];
+        mutants = new Individual[populationSize];
+        for(int i = 0; i < populationSize; i++) {
+            parents[i] = new Individual(Chromosome.random(problem, random));
+            parents[i].calculateFitness();
+            mutants[i] = new Individual(parents[i].chromosome().copy());
+            mutants[i].calculateFitness();
+        }
+        child1 = new Individual(parents[0].chromosome().copy());
+        child2 = new Individual(parents[1].chromosome().copy());
+        child1.calculateFitness();
+        child2.calculateFitness();
+    }
+
+    private Individual randomParent() {
+        return parents[random.nextInt(populationSize)];
+    }
+
+    @Benchmark
+    public List<Individual> crossoverWith() {
+        return randomParent().crossoverWith(randomParent(), random);
+    }
+
+    @Benchmark
+    public Individual crossoverInto() {
+        randomParent().crossoverInto(randomParent(), random, child1, child2);
+        return child1;
+    }
+
+    @Benchmark
+    public Individual attemptMutation() {
+        Individual mutant = mutants[random.nextInt(populationSize)];
+        mutant.attemptMutation(GeneticConstants.M_RATE, random);
+        return mutant;
+    }
+}
@@ -0,0 +1,72 @@
+package genetics.benchmarks;
+
+import genetics.math.Picker;
+import genetics.math.ProbableSelection;
+import genetics.math.SoftMax;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionBenchmark {
+
+    private record Candidate(double likelihood) implements ProbableSelection {
+        @Override
+        public double calculateLikelyHood() {
+            return likelihood;
+        }
+    }
+
+    @Param({"100", "1000", "10000"})
+    public int populationSize;
+
+    @Param({"11", "110", "550"})
+    public int activityCount;
+
+    private List<Double> fitnessList;
+    private double[] fitness;
+    private double[] probabilities;
+    private List<Candidate> candidates;
+    private Picker<Candidate> picker;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        fitness = BenchmarkProblems.randomFitness(activityCount, populationSize, random);
+        fitnessList = new ArrayList<>(populationSize);
+        for(double value : fitness) {
+            fitnessList.add(value);
+        }
+        probabilities = SoftMax.calculateSoftMax(fitness, 1, null);
+        candidates = new ArrayList<>(populationSize);
+        for(double probability : probabilities) {
+            candidates.add(new Candidate(probability));
+        }
+        picker = new Picker<>(candidates, random);
+    }
+
+    @Benchmark
+    public Candidate pickerPick() {
+        picker.reset();
+        return picker.pick(0);
+    }
+
+    @Benchmark
+    public List<Double> softMaxList() {
+        return SoftMax.calculateSoftMax(fitnessList);
+    }
+
+    @Benchmark
+    public double[] softMaxArray() {
+        return SoftMax.calculateSoftMax(fitness, 1, probabilities);
+    }
+}
@@ -0,0 +1,64 @@
+package genetics.benchmarks;
+
+import genetics.math.ProbableSelection;
+import genetics.math.SelectionStrategy;
+import genetics.math.Selector;
+import genetics.math.SoftMax;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+//The SelectionStrategy implementations, apart from SelectionBenchmark so only these run once per strategy
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectorBenchmark {
+
+    private record Candidate(double likelihood) implements ProbableSelection {
+        @Override
+        public double calculateLikelyHood() {
+            return likelihood;
+        }
+    }
+
+    @Param({"100", "1000", "10000"})
+    public int populationSize;
+
+    @Param({"11", "110", "550"})
+    public int activityCount;
+
+    @Param({"ROULETTE", "ALIAS", "TOURNAMENT", "RANK"})
+    public SelectionStrategy selectionStrategy;
+
+    private List<Candidate> candidates;
+    private Selector<Candidate> selector;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        double[] fitness = BenchmarkProblems.randomFitness(activityCount, populationSize, random);
+        double[] probabilities = SoftMax.calculateSoftMax(fitness, 1, null);
+        candidates = new ArrayList<>(populationSize);
+        for(double probability : probabilities) {
+            candidates.add(new Candidate(probability));
+        }
+        selector = selectionStrategy.selectorFor(candidates);
+    }
+
+    @Benchmark
+    public Candidate selectorSelect() {
+        return selector.select(random);
+    }
+
+    @Benchmark
+    public Selector<Candidate> buildSelector() {
+        return selectionStrategy.selectorFor(candidates);
+    }
+}
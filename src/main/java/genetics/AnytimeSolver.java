@@ -0,0 +1,130 @@
+package genetics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+    Runs a population generation by generation under a SolverBudget, for callers that need an answer within a
+    fixed time rather than after convergence. The budget is checked between generations, and a generation that the
+    last one suggests would overrun the time or evaluation limit is not started, so a run ends close to its limits
+    instead of past them. A population that was never ranked always gets its first generation. The prediction carries
+    over to the next solve, so a run can be continued in slices without each slice starting blind.
+    solve runs on the calling thread. cancel, getBestSoFar and getBestFitness may be called from any other thread
+    at any moment: the best individual is published as a copy after every generation that improved it.
+ */
+public class AnytimeSolver {
+
+    private final Population population;
+    private final AtomicReference<Individual> bestSoFar = new AtomicReference<>();
+    private volatile boolean cancelled;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private long lastGenerationNanos; //0 until a generation after the initial ranking has run
+    private long lastGenerationEvaluations;
+
+    public AnytimeSolver(Population population) {
+        this.population = population;
+    }
+
+    public SolverResult solve(SolverBudget budget) {
+        if(!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("The solver is already running");
+        }
+        try {
+            return run(budget);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private SolverResult run(SolverBudget budget) {
+        long start = System.nanoTime();
+        long deadline = start + budget.timeLimit().toNanos();
+        int startGeneration = population.getGenerationCount();
+        long startEvaluations = population.getEvaluationCount();
+        SolverResult.StopReason stopReason;
+
+        while(true) {
+            long now = System.nanoTime();
+            long evaluations = population.getEvaluationCount() - startEvaluations;
+            boolean ranked = population.getGenerationCount() > 0;
+            if(cancelled) {
+                stopReason = SolverResult.StopReason.CANCELLED;
+                break;
+            }
+            if(ranked && getBestFitness() >= budget.targetFitness()) {
+                stopReason = SolverResult.StopReason.TARGET_REACHED;
+                break;
+            }
+            if(ranked && deadline - now < lastGenerationNanos) {
+                stopReason = SolverResult.StopReason.TIME_LIMIT;
+                break;
+            }
+            if(ranked && budget.maxEvaluations() - evaluations < Math.max(1, lastGenerationEvaluations)) {
+                stopReason = SolverResult.StopReason.EVALUATION_LIMIT;
+                break;
+            }
+            long before = population.getEvaluationCount();
+            population.runGeneration();
+            //The first generation also ranks the initial population and runs cold, its time predicts nothing, its
+            //evaluations overestimate the next generation's and keep the evaluation limit on the safe side
+            if(ranked) {
+                lastGenerationNanos = System.nanoTime() - now;
+            }
+            lastGenerationEvaluations = population.getEvaluationCount() - before;
+            publish(population.getBestIndividual());
+        }
+
+        //A restored population is ranked without a generation here, one cancelled before its first generation is not
+        if(bestSoFar.get() == null && population.getGenerationCount() > 0) {
+            publish(population.getBestIndividual());
+        }
+        return new SolverResult(
+                getBestSoFar(),
+                stopReason,
+                population.getGenerationCount() - startGeneration,
+                population.getEvaluationCount() - startEvaluations,
+                Duration.ofNanos(System.nanoTime() - start)
+        );
+    }
+
+    private void publish(Individual best) {
+        Individual published = bestSoFar.get();
+        if(published == null || best.getFitness() > published.getFitness()) {
+            bestSoFar.set(best.copy());
+        }
+    }
+
+    //Asks a running solve to return after the current generation, sticks until resetCancellation
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public void resetCancellation() {
+        cancelled = false;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    //Duration of the last generation, what the next one is expected to take
+    public long getPredictedGenerationNanos() {
+        return lastGenerationNanos;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    //Copy of the fittest individual seen so far, null before the first generation finished
+    public Individual getBestSoFar() {
+        Individual published = bestSoFar.get();
+        return published == null ? null : published.copy();
+    }
+
+    public double getBestFitness() {
+        Individual published = bestSoFar.get();
+        return published == null ? Double.NEGATIVE_INFINITY : published.getFitness();
+    }
+}
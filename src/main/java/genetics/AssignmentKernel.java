@@ -0,0 +1,6 @@
+package genetics;
+
+//Sums the room size and facilitator preference scores of every gene for each individual of the columns, in millionths
+interface AssignmentKernel {
+    void score(PopulationColumns columns, AssignmentTables tables, long[] totals);
+}
@@ -0,0 +1,53 @@
+package genetics;
+
+import schedule.ScheduleProblem;
+
+/*
+    The static part of the fitness rules compiled once per problem: room size and facilitator preference scores of
+    every (activity, room) and (activity, facilitator) pair, in millionths of a point like FitnessState, and which
+    facilitators are exempt from the light load penalty. Row major: activity a in room r is at a * roomCount + r.
+    Scoring a gene is then two array loads instead of list searches and name comparisons.
+ */
+final class AssignmentTables {
+    final int roomCount;
+    final int facilitatorCount;
+    final int[] roomSizeScores;
+    final int[] preferenceScores;
+    private final boolean[] loadExempt;
+
+    //Built once per problem by CompiledProblem
+    AssignmentTables(ScheduleProblem problem) {
+        roomCount = problem.roomCount();
+        facilitatorCount = problem.facilitatorCount();
+        roomSizeScores = new int[problem.activityCount() * roomCount];
+        preferenceScores = new int[problem.activityCount() * facilitatorCount];
+        loadExempt = new boolean[facilitatorCount];
+        for(int facilitator = 0; facilitator < facilitatorCount; facilitator++) {
+            loadExempt[facilitator] = problem.loadExemptFacilitators().contains(problem.facilitator(facilitator));
+        }
+        for(int activity = 0; activity < problem.activityCount(); activity++) {
+            for(int room = 0; room < roomCount; room++) {
+                roomSizeScores[activity * roomCount + room] = (int) Math.round(
+                        GeneticUtils.roomSizeScore(problem.enrollment(activity), problem.capacity(room)) * 1_000_000);
+            }
+            for(int facilitator = 0; facilitator < facilitatorCount; facilitator++) {
+                preferenceScores[activity * facilitatorCount + facilitator] = (int) Math.round(
+                        GeneticUtils.facilitatorPreferenceScore(problem.activity(activity), problem.facilitator(facilitator)) * 1_000_000);
+            }
+        }
+    }
+
+    //Room size plus facilitator preference score of gene, in millionths
+    long assignmentScore(int gene, int room, int facilitator) {
+        return roomSizeScores[gene * roomCount + room] + preferenceScores[gene * facilitatorCount + facilitator];
+    }
+
+    boolean isLoadExempt(int facilitator) {
+        return loadExempt[facilitator];
+    }
+
+    //For callers without a chromosome at hand, such as BatchEvaluator
+    static AssignmentTables of(ScheduleProblem problem) {
+        return CompiledProblem.of(problem).assignmentTables;
+    }
+}
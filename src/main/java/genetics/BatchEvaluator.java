@@ -0,0 +1,62 @@
+package genetics;
+
+import schedule.ScheduleProblem;
+
+/*
+    Scores the per-gene assignment rules (room size bands and facilitator preference) for a whole population at
+    once from its column layout. Uses SIMD lanes through the Vector API when the tree was built with the vector
+    profile and the JVM was started with --add-modules jdk.incubator.vector, and a scalar loop over the same layout
+    otherwise or when the system property genetics.vector is false. Both give bit for bit the same scores as Individual.calculateFitness's terms.
+    The evolving engines do not use it: FitnessState keeps every gene's score to update it incrementally, which a
+    batch total cannot provide. It is meant for scoring many schedules at once outside evolution, such as screening
+    candidate schedules, and is measured by BatchEvaluationBenchmark.
+ */
+public final class BatchEvaluator {
+
+    private static final boolean VECTOR_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !"false".equals(System.getProperty("genetics.vector"));
+
+    private final AssignmentTables tables;
+    private final AssignmentKernel kernel;
+    private long[] totals = new long[0];
+
+    private BatchEvaluator(ScheduleProblem problem, boolean vectorized) {
+        this.tables = AssignmentTables.of(problem);
+        this.kernel = vectorized ? vectorKernel() : new ScalarAssignmentKernel();
+    }
+
+    public static BatchEvaluator forProblem(ScheduleProblem problem) {
+        return new BatchEvaluator(problem, VECTOR_AVAILABLE);
+    }
+
+    public static BatchEvaluator scalar(ScheduleProblem problem) {
+        return new BatchEvaluator(problem, false);
+    }
+
+    //Loaded reflectively so the scalar path never touches the incubator classes, which default builds leave out
+    private static AssignmentKernel vectorKernel() {
+        try {
+            return (AssignmentKernel) Class.forName("genetics.VectorAssignmentKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarAssignmentKernel();
+        }
+    }
+
+    public boolean isVectorized() {
+        return !(kernel instanceof ScalarAssignmentKernel);
+    }
+
+    //Writes the assignment score of individual i of the columns to scores[i]
+    public void assignmentScores(PopulationColumns columns, double[] scores) {
+        if(scores.length < columns.size()) {
+            throw new IllegalArgumentException("Need room for " + columns.size() + " scores");
+        }
+        if(totals.length < columns.stride()) {
+            totals = new long[columns.stride()];
+        }
+        kernel.score(columns, tables, totals);
+        for(int i = 0; i < columns.size(); i++) {
+            scores[i] = totals[i] / 1_000_000.0;
+        }
+    }
+}
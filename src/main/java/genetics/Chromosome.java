@@ -0,0 +1,246 @@
+package genetics;
+
+import schedule.ScheduleProblem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/*
+    Flat encoding of a schedule. Gene i belongs to activity i of the problem and is packed into a single int:
+    bits 0-11 hold the room index, bits 12-19 the time slot index and bits 20-31 the facilitator index.
+ */
+public final class Chromosome {
+
+    private static final int ROOM_BITS = 12;
+    private static final int TIME_BITS = 8;
+    private static final int FACILITATOR_BITS = 12;
+
+    private static final int TIME_SHIFT = ROOM_BITS;
+    private static final int FACILITATOR_SHIFT = ROOM_BITS + TIME_BITS;
+
+    private static final int ROOM_MASK = (1 << ROOM_BITS) - 1;
+    private static final int TIME_MASK = (1 << TIME_BITS) - 1;
+    private static final int FACILITATOR_MASK = (1 << FACILITATOR_BITS) - 1;
+
+    private final ScheduleProblem problem;
+    private final CompiledProblem compiled;
+    private final ZobristKeys zobristKeys;
+    private final int[] genes;
+    private long hash;
+    private boolean hashValid;
+
+    Chromosome(ScheduleProblem problem, int[] genes) {
+        this(problem, CompiledProblem.of(problem), genes);
+    }
+
+    //Copies and children share the compiled problem of their parent instead of looking it up again
+    private Chromosome(ScheduleProblem problem, CompiledProblem compiled, int[] genes) {
+        this.problem = problem;
+        this.compiled = compiled;
+        this.zobristKeys = compiled.zobristKeys;
+        this.genes = genes;
+    }
+
+    public static Chromosome random(ScheduleProblem problem, RandomGenerator random) {
+        checkBounds(problem);
+        int[] genes = new int[problem.activityCount()];
+        for(int i = 0; i < genes.length; i++) {
+            genes[i] = pack(
+                    random.nextInt(problem.roomCount()),
+                    random.nextInt(problem.timeCount()),
+                    random.nextInt(problem.facilitatorCount())
+            );
+        }
+        return new Chromosome(problem, genes);
+    }
+
+    public static Chromosome encode(ScheduleProblem problem, List<GeneticInformation> geneticInformationList) {
+        checkBounds(problem);
+        if(geneticInformationList.size() != problem.activityCount()) {
+            throw new IllegalArgumentException("Expected " + problem.activityCount() + " genes but got " + geneticInformationList.size());
+        }
+        int[] genes = new int[geneticInformationList.size()];
+        for(int i = 0; i < genes.length; i++) {
+            GeneticInformation geneticInformation = geneticInformationList.get(i);
+            if(!geneticInformation.getActivity().name().equals(problem.activity(i).name())) {
+                throw new IllegalArgumentException("Gene " + i + " must hold activity " + problem.activity(i).name());
+            }
+            genes[i] = pack(
+                    problem.roomIndex(geneticInformation.getRoom()),
+                    problem.timeIndex(geneticInformation.getTime()),
+                    problem.facilitatorIndex(geneticInformation.getFacilitator())
+            );
+        }
+        return new Chromosome(problem, genes);
+    }
+
+    private static void checkBounds(ScheduleProblem problem) {
+        if(problem.roomCount() > ROOM_MASK + 1
+                || problem.timeCount() > TIME_MASK + 1
+                || problem.facilitatorCount() > FACILITATOR_MASK + 1) {
+            throw new IllegalArgumentException("Problem is too large for the packed chromosome encoding");
+        }
+    }
+
+    private static int pack(int room, int time, int facilitator) {
+        return room | time << TIME_SHIFT | facilitator << FACILITATOR_SHIFT;
+    }
+
+    //Builds the object view of this chromosome. Only meant for printing, records are shared with the problem.
+    public List<GeneticInformation> decode() {
+        List<GeneticInformation> geneticInformationList = new ArrayList<>(genes.length);
+        for(int i = 0; i < genes.length; i++) {
+            geneticInformationList.add(new GeneticInformation(
+                    problem.activity(i),
+                    problem.room(room(i)),
+                    problem.time(time(i)),
+                    problem.facilitator(facilitator(i))
+            ));
+        }
+        return geneticInformationList;
+    }
+
+    //Single point crossover: genes [0, dividingLine) come from this chromosome, the rest from other
+    public Chromosome crossoverWith(Chromosome other, int dividingLine) {
+        int[] childGenes = new int[genes.length];
+        System.arraycopy(genes, 0, childGenes, 0, dividingLine);
+        System.arraycopy(other.genes, dividingLine, childGenes, dividingLine, genes.length - dividingLine);
+        return new Chromosome(problem, compiled, childGenes);
+    }
+
+    //Same as crossoverWith, but writes the child into target's genes instead of allocating a new chromosome
+    public void crossoverInto(Chromosome other, int dividingLine, Chromosome target) {
+        if(target.problem != problem || target == this || target == other) {
+            throw new IllegalArgumentException("The target must be a separate chromosome of the same problem");
+        }
+        System.arraycopy(genes, 0, target.genes, 0, dividingLine);
+        System.arraycopy(other.genes, dividingLine, target.genes, dividingLine, genes.length - dividingLine);
+        target.hashValid = false;
+    }
+
+    public Chromosome copy() {
+        Chromosome copy = new Chromosome(problem, compiled, genes.clone());
+        copy.hash = hash;
+        copy.hashValid = hashValid;
+        return copy;
+    }
+
+    public void mutateRoom(int gene, RandomGenerator random) {
+        setRoom(gene, randomOtherThan(room(gene), problem.roomCount(), random));
+    }
+
+    public void mutateTime(int gene, RandomGenerator random) {
+        setTime(gene, randomOtherThan(time(gene), problem.timeCount(), random));
+    }
+
+    public void mutateFacilitator(int gene, RandomGenerator random) {
+        setFacilitator(gene, randomOtherThan(facilitator(gene), problem.facilitatorCount(), random));
+    }
+
+    //Uniform choice among the bound - 1 values that differ from current, without rejection sampling
+    private static int randomOtherThan(int current, int bound, RandomGenerator random) {
+        if(bound < 2) {
+            return current;
+        }
+        int candidate = random.nextInt(bound - 1);
+        return candidate >= current ? candidate + 1 : candidate;
+    }
+
+    public int room(int gene) {
+        return genes[gene] & ROOM_MASK;
+    }
+
+    public int time(int gene) {
+        return genes[gene] >>> TIME_SHIFT & TIME_MASK;
+    }
+
+    public int facilitator(int gene) {
+        return genes[gene] >>> FACILITATOR_SHIFT & FACILITATOR_MASK;
+    }
+
+    public void setRoom(int gene, int room) {
+        if(hashValid) {
+            hash ^= zobristKeys.room(gene, room(gene)) ^ zobristKeys.room(gene, room);
+        }
+        genes[gene] = genes[gene] & ~ROOM_MASK | room;
+    }
+
+    public void setTime(int gene, int time) {
+        if(hashValid) {
+            hash ^= zobristKeys.time(gene, time(gene)) ^ zobristKeys.time(gene, time);
+        }
+        genes[gene] = genes[gene] & ~(TIME_MASK << TIME_SHIFT) | time << TIME_SHIFT;
+    }
+
+    public void setFacilitator(int gene, int facilitator) {
+        if(hashValid) {
+            hash ^= zobristKeys.facilitator(gene, facilitator(gene)) ^ zobristKeys.facilitator(gene, facilitator);
+        }
+        genes[gene] = genes[gene] & ~(FACILITATOR_MASK << FACILITATOR_SHIFT) | facilitator << FACILITATOR_SHIFT;
+    }
+
+    //Zobrist hash of the whole schedule, computed once and then kept up to date by the setters
+    public long zobristHash() {
+        if(!hashValid) {
+            long value = 0;
+            for(int gene = 0; gene < genes.length; gene++) {
+                value ^= zobristKeys.room(gene, room(gene))
+                        ^ zobristKeys.time(gene, time(gene))
+                        ^ zobristKeys.facilitator(gene, facilitator(gene));
+            }
+            hash = value;
+            hashValid = true;
+        }
+        return hash;
+    }
+
+    int packedGene(int gene) {
+        return genes[gene];
+    }
+
+    static Chromosome fromPackedGenes(ScheduleProblem problem, int[] genes) {
+        checkBounds(problem);
+        for(int gene : genes) {
+            if((gene & ROOM_MASK) >= problem.roomCount()
+                    || (gene >>> TIME_SHIFT & TIME_MASK) >= problem.timeCount()
+                    || (gene >>> FACILITATOR_SHIFT & FACILITATOR_MASK) >= problem.facilitatorCount()) {
+                throw new IllegalArgumentException("Packed gene " + gene + " does not fit the problem");
+            }
+        }
+        return new Chromosome(problem, genes);
+    }
+
+    public boolean sameGene(int gene, Chromosome other) {
+        return genes[gene] == other.genes[gene];
+    }
+
+    public int length() {
+        return genes.length;
+    }
+
+    public ScheduleProblem problem() {
+        return problem;
+    }
+
+    CompiledProblem compiled() {
+        return compiled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) {
+            return true;
+        }
+        if(!(o instanceof Chromosome other)) {
+            return false;
+        }
+        return problem == other.problem && Arrays.equals(genes, other.genes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(zobristHash());
+    }
+}
@@ -0,0 +1,31 @@
+package genetics;
+
+import genetics.rules.FitnessRules;
+import schedule.ScheduleProblem;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/*
+    Everything the genetics side derives from a problem: Zobrist keys, assignment tables and constraint rules.
+    Looked up once when a chromosome is built from scratch and then handed on by its copies and children, so
+    evaluating or hashing a chromosome never goes through the shared, locked cache.
+ */
+final class CompiledProblem {
+    private static final Map<ScheduleProblem, CompiledProblem> COMPILED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    final ZobristKeys zobristKeys;
+    final AssignmentTables assignmentTables;
+    final FitnessRules fitnessRules;
+
+    private CompiledProblem(ScheduleProblem problem) {
+        zobristKeys = new ZobristKeys(problem);
+        assignmentTables = new AssignmentTables(problem);
+        fitnessRules = FitnessRules.compile(problem);
+    }
+
+    static CompiledProblem of(ScheduleProblem problem) {
+        return COMPILED.computeIfAbsent(problem, CompiledProblem::new);
+    }
+}
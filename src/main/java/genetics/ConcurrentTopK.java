@@ -0,0 +1,60 @@
+package genetics;
+
+import java.util.List;
+
+/*
+    The k fittest individuals offered so far, kept ranked best first while evaluation workers are still offering,
+    so the ranking is complete the moment the last offspring is evaluated. Inserting shifts at most k references.
+    Once full, offers that cannot make it are turned away by one volatile read without taking the lock.
+    Individuals of equal fitness stay in the order they were offered.
+ */
+final class ConcurrentTopK {
+
+    private final Individual[] ranked;
+    private int size;
+    private volatile double threshold = Double.NEGATIVE_INFINITY; //fitness of the worst kept individual once full
+
+    ConcurrentTopK(int k) {
+        if(k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+        ranked = new Individual[k];
+    }
+
+    //Returns the individual that dropped out, the offered one if it did not make it, or null if nothing dropped out
+    Individual offer(Individual individual) {
+        double fitness = individual.getFitness();
+        if(fitness <= threshold) {
+            return individual;
+        }
+        synchronized (this) {
+            Individual dropped = null;
+            if(size == ranked.length) {
+                if(fitness <= ranked[size - 1].getFitness()) {
+                    return individual;
+                }
+                dropped = ranked[--size];
+            }
+            int position = size++;
+            while(position > 0 && ranked[position - 1].getFitness() < fitness) {
+                ranked[position] = ranked[position - 1];
+                position--;
+            }
+            ranked[position] = individual;
+            if(size == ranked.length) {
+                threshold = ranked[size - 1].getFitness();
+            }
+            return dropped;
+        }
+    }
+
+    //Moves the kept individuals into target, best first, and empties this
+    synchronized void drainTo(List<Individual> target) {
+        for(int i = 0; i < size; i++) {
+            target.add(ranked[i]);
+            ranked[i] = null;
+        }
+        size = 0;
+        threshold = Double.NEGATIVE_INFINITY;
+    }
+}
@@ -0,0 +1,44 @@
+package genetics;
+
+/*
+    How a population guards its diversity.
+    suppressDuplicates: offspring that copy a schedule already in the population are changed (or dropped by the
+    steady-state engine) before they are evaluated.
+    When the mean per-gene entropy falls below entropyThreshold the response kicks in: RAISE_MUTATION_RATE breeds
+    with boostedMutationRate until the entropy recovers, RANDOM_IMMIGRANTS replaces the weakest immigrantFraction
+    of the population with random schedules.
+ */
+public record DiversityPolicy(boolean suppressDuplicates,
+                              double entropyThreshold,
+                              Response response,
+                              double boostedMutationRate,
+                              double immigrantFraction) {
+
+    public enum Response {
+        NONE,
+        RAISE_MUTATION_RATE,
+        RANDOM_IMMIGRANTS
+    }
+
+    public DiversityPolicy {
+        if(entropyThreshold < 0 || entropyThreshold > 1) {
+            throw new IllegalArgumentException("The entropy threshold must be between 0 and 1");
+        }
+        if(boostedMutationRate <= 0 || boostedMutationRate > 0.5) {
+            throw new IllegalArgumentException("The boosted mutation rate must be in (0, 0.5]");
+        }
+        if(immigrantFraction < 0 || immigrantFraction > 1) {
+            throw new IllegalArgumentException("The immigrant fraction must be between 0 and 1");
+        }
+    }
+
+    public static DiversityPolicy defaultPolicy() {
+        return new DiversityPolicy(
+                true,
+                GeneticConstants.DIVERSITY_ENTROPY_THRESHOLD,
+                Response.RAISE_MUTATION_RATE,
+                GeneticConstants.BOOSTED_M_RATE,
+                GeneticConstants.IMMIGRANT_FRACTION
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package genetics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    Bounded least recently used cache of fitness values keyed by the Zobrist hash of a chromosome.
+    Entries keep a copy of the chromosome so a hash collision can never return another schedule's fitness.
+    Only individuals without a fitness state are looked up, offspring that inherit one are re-scored incrementally
+    for less than a lookup costs. On the default problem that leaves well under 1% hits, so it is opt-in.
+ */
+public class FitnessCache {
+
+    private record Entry(Chromosome chromosome, double fitness) {
+    }
+
+    private final int capacity;
+    private final Map<Long, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FitnessCache(int capacity) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("The fitness cache needs room for at least one entry");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > FitnessCache.this.capacity;
+            }
+        };
+    }
+
+    //Returns the cached fitness or NaN when the chromosome has not been evaluated yet
+    public double get(Chromosome chromosome) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(chromosome.zobristHash());
+        }
+        if(entry != null && entry.chromosome().equals(chromosome)) {
+            hits.increment();
+            return entry.fitness();
+        }
+        misses.increment();
+        return Double.NaN;
+    }
+
+    public void put(Chromosome chromosome, double fitness) {
+        Entry entry = new Entry(chromosome.copy(), fitness);
+        synchronized (entries) {
+            entries.put(chromosome.zobristHash(), entry);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,234 @@
+package genetics;
+
+import genetics.rules.FitnessRules;
+import schedule.ScheduleProblem;
+
+import java.util.Arrays;
+
+/*
+    Fitness of one chromosome split into the terms a single gene change can touch, so that a mutation is
+    re-scored in constant time instead of re-evaluating the whole schedule.
+    Per-gene conflict and load rules only depend on how many activities share a bucket, so each (time, room),
+    (time, facilitator) and facilitator bucket contributes count * rule(count) and is updated on its own.
+    Terms are summed in millionths of a point so an incrementally updated total is bit for bit the same as a
+    fresh evaluation, no matter how many changes were applied.
+ */
+final class FitnessState {
+    private static final double SCALE = 1_000_000;
+
+    private final FitnessRules rules;
+    private final AssignmentTables tables;
+    private final Occupancy occupancy;
+    private final long[] assignmentScores;
+    private long assignmentTotal;
+    private long roomClashTotal;
+    private long facilitatorSlotTotal;
+    private long facilitatorLoadTotal;
+
+    //Constraint rules are only re-scored when one of their genes changed
+    private final long[] ruleScores;
+    private final boolean[] ruleDirty;
+    private long ruleTotal;
+    private boolean anyRuleDirty = true;
+
+    private long consecutiveScore;
+    private int consecutiveGene1 = -1;
+    private int consecutiveGene2 = -1;
+    private boolean consecutiveDirty = true;
+
+    private FitnessState(FitnessRules rules, AssignmentTables tables, Occupancy occupancy, long[] assignmentScores, long[] ruleScores, boolean[] ruleDirty) {
+        this.rules = rules;
+        this.tables = tables;
+        this.occupancy = occupancy;
+        this.assignmentScores = assignmentScores;
+        this.ruleScores = ruleScores;
+        this.ruleDirty = ruleDirty;
+    }
+
+    static FitnessState evaluate(Chromosome chromosome) {
+        CompiledProblem compiled = chromosome.compiled();
+        FitnessRules rules = compiled.fitnessRules;
+        FitnessState state = new FitnessState(rules, compiled.assignmentTables, Occupancy.of(chromosome), new long[chromosome.length()], new long[rules.count()], new boolean[rules.count()]);
+        state.evaluateTerms(chromosome);
+        return state;
+    }
+
+    //Full evaluation that reuses the buffers of this state, chromosome must belong to the same problem
+    void reevaluate(Chromosome chromosome) {
+        occupancy.fill(chromosome);
+        assignmentTotal = 0;
+        roomClashTotal = 0;
+        facilitatorSlotTotal = 0;
+        facilitatorLoadTotal = 0;
+        evaluateTerms(chromosome);
+    }
+
+    private void evaluateTerms(Chromosome chromosome) {
+        ScheduleProblem problem = chromosome.problem();
+        for (int gene = 0; gene < chromosome.length(); gene++) {
+            assignmentScores[gene] = tables.assignmentScore(gene, chromosome.room(gene), chromosome.facilitator(gene));
+            assignmentTotal += assignmentScores[gene];
+        }
+        for (int time = 0; time < problem.timeCount(); time++) {
+            for (int room = 0; room < problem.roomCount(); room++) {
+                roomClashTotal += roomClashTerm(occupancy.activitiesInRoom(room, time));
+            }
+            for (int facilitator = 0; facilitator < problem.facilitatorCount(); facilitator++) {
+                facilitatorSlotTotal += facilitatorSlotTerm(occupancy.activitiesForFacilitator(facilitator, time));
+            }
+        }
+        for (int facilitator = 0; facilitator < problem.facilitatorCount(); facilitator++) {
+            facilitatorLoadTotal += facilitatorLoadTerm(facilitator, occupancy.facilitatorLoad(facilitator));
+        }
+        Arrays.fill(ruleScores, 0);
+        Arrays.fill(ruleDirty, true);
+        ruleTotal = 0;
+        anyRuleDirty = true;
+        consecutiveScore = 0;
+        consecutiveGene1 = -1;
+        consecutiveGene2 = -1;
+        consecutiveDirty = true;
+    }
+
+    FitnessState copy() {
+        FitnessState copy = new FitnessState(rules, tables, occupancy.copy(), assignmentScores.clone(), ruleScores.clone(), ruleDirty.clone());
+        copy.assignmentTotal = assignmentTotal;
+        copy.roomClashTotal = roomClashTotal;
+        copy.facilitatorSlotTotal = facilitatorSlotTotal;
+        copy.facilitatorLoadTotal = facilitatorLoadTotal;
+        copy.ruleTotal = ruleTotal;
+        copy.anyRuleDirty = anyRuleDirty;
+        copy.consecutiveScore = consecutiveScore;
+        copy.consecutiveGene1 = consecutiveGene1;
+        copy.consecutiveGene2 = consecutiveGene2;
+        copy.consecutiveDirty = consecutiveDirty;
+        return copy;
+    }
+
+    //Overwrites this state with other's without allocating, both must belong to the same problem
+    void copyFrom(FitnessState other) {
+        occupancy.copyFrom(other.occupancy);
+        System.arraycopy(other.assignmentScores, 0, assignmentScores, 0, assignmentScores.length);
+        System.arraycopy(other.ruleScores, 0, ruleScores, 0, ruleScores.length);
+        System.arraycopy(other.ruleDirty, 0, ruleDirty, 0, ruleDirty.length);
+        assignmentTotal = other.assignmentTotal;
+        roomClashTotal = other.roomClashTotal;
+        facilitatorSlotTotal = other.facilitatorSlotTotal;
+        facilitatorLoadTotal = other.facilitatorLoadTotal;
+        ruleTotal = other.ruleTotal;
+        anyRuleDirty = other.anyRuleDirty;
+        consecutiveScore = other.consecutiveScore;
+        consecutiveGene1 = other.consecutiveGene1;
+        consecutiveGene2 = other.consecutiveGene2;
+        consecutiveDirty = other.consecutiveDirty;
+    }
+
+    //Called after gene has been changed in chromosome, the old values are the ones it held before
+    void geneChanged(Chromosome chromosome, int gene, int oldRoom, int oldTime, int oldFacilitator) {
+        int room = chromosome.room(gene);
+        int time = chromosome.time(gene);
+        int facilitator = chromosome.facilitator(gene);
+
+        move(oldRoom, oldTime, oldFacilitator, -1);
+        move(room, time, facilitator, 1);
+
+        assignmentTotal -= assignmentScores[gene];
+        assignmentScores[gene] = tables.assignmentScore(gene, room, facilitator);
+        assignmentTotal += assignmentScores[gene];
+
+        for (int rule : rules.rulesFor(gene)) {
+            ruleDirty[rule] = true;
+            anyRuleDirty = true;
+        }
+        if (time != oldTime || facilitator != oldFacilitator || gene == consecutiveGene1 || gene == consecutiveGene2) {
+            consecutiveDirty = true;
+        }
+    }
+
+    private void move(int room, int time, int facilitator, int delta) {
+        int roomCount = occupancy.activitiesInRoom(room, time);
+        int slotCount = occupancy.activitiesForFacilitator(facilitator, time);
+        int load = occupancy.facilitatorLoad(facilitator);
+
+        roomClashTotal += roomClashTerm(roomCount + delta) - roomClashTerm(roomCount);
+        facilitatorSlotTotal += facilitatorSlotTerm(slotCount + delta) - facilitatorSlotTerm(slotCount);
+        facilitatorLoadTotal += facilitatorLoadTerm(facilitator, load + delta) - facilitatorLoadTerm(facilitator, load);
+
+        if (delta > 0) {
+            occupancy.add(room, time, facilitator);
+        } else {
+            occupancy.remove(room, time, facilitator);
+        }
+    }
+
+    double total(Chromosome chromosome) {
+        if (anyRuleDirty) {
+            for (int rule = 0; rule < ruleScores.length; rule++) {
+                if (ruleDirty[rule]) {
+                    ruleTotal -= ruleScores[rule];
+                    ruleScores[rule] = scaled(rules.rule(rule).score(chromosome));
+                    ruleTotal += ruleScores[rule];
+                    ruleDirty[rule] = false;
+                }
+            }
+            anyRuleDirty = false;
+        }
+        if (consecutiveDirty) {
+            consecutiveScore = scaled(consecutiveScore(chromosome));
+            consecutiveDirty = false;
+        }
+        return (assignmentTotal + roomClashTotal + facilitatorSlotTotal + facilitatorLoadTotal + ruleTotal + consecutiveScore) / SCALE;
+    }
+
+    private static long scaled(double score) {
+        return Math.round(score * SCALE);
+    }
+
+    private static long roomClashTerm(int count) {
+        return count * scaled(GeneticUtils.roomClashScore(count));
+    }
+
+    private static long facilitatorSlotTerm(int count) {
+        return count * scaled(GeneticUtils.facilitatorSlotScore(count));
+    }
+
+    private long facilitatorLoadTerm(int facilitator, int load) {
+        return load == 0 ? 0 : load * scaled(GeneticUtils.facilitatorLoadScore(load, tables.isLoadExempt(facilitator)));
+    }
+
+    /*
+        A facilitator oversees activities in consecutive time slots, scored once on the first such pair in gene order.
+        The first gene whose facilitator also teaches in the hour before or after it opens that pair, any partner
+        earlier in gene order would have opened it itself. Only its partner has to be searched for.
+     */
+    private double consecutiveScore(Chromosome chromosome) {
+        ScheduleProblem problem = chromosome.problem();
+        consecutiveGene1 = -1;
+        consecutiveGene2 = -1;
+        for (int i = 0; i < chromosome.length() && consecutiveGene1 < 0; i++) {
+            if (!occupancy.teachesNextTo(chromosome.facilitator(i), problem.hour(chromosome.time(i)))) {
+                continue;
+            }
+            for (int j = i + 1; j < chromosome.length(); j++) {
+                if (chromosome.facilitator(i) == chromosome.facilitator(j) && hoursBetween(chromosome, i, j) == 1) {
+                    consecutiveGene1 = i;
+                    consecutiveGene2 = j;
+                    break;
+                }
+            }
+        }
+        if (consecutiveGene1 < 0) {
+            return 0;
+        }
+
+        double fitnessScore = 0.5;
+        if (rules.farApart(chromosome.room(consecutiveGene1), chromosome.room(consecutiveGene2))) {
+            fitnessScore -= 0.4;
+        }
+        return fitnessScore;
+    }
+
+    private static int hoursBetween(Chromosome chromosome, int gene1, int gene2) {
+        return chromosome.problem().hoursBetween(chromosome.time(gene1), chromosome.time(gene2));
+    }
+}
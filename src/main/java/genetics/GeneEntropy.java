@@ -0,0 +1,58 @@
+package genetics;
+
+import schedule.ScheduleProblem;
+
+import java.util.List;
+
+/*
+    Mean normalised Shannon entropy of the room, time and facilitator values each gene takes across a population.
+    0 means every individual agrees on every gene, 1 means the values are spread as evenly as the population size
+    and the number of possible values allow. One pass over the genes with a reused count buffer.
+ */
+final class GeneEntropy {
+
+    private GeneEntropy() {
+    }
+
+    static double of(List<Individual> individuals) {
+        int size = individuals.size();
+        if(size < 2) {
+            return 0;
+        }
+        ScheduleProblem problem = individuals.get(0).chromosome().problem();
+        int[] counts = new int[Math.max(problem.roomCount(), Math.max(problem.timeCount(), problem.facilitatorCount()))];
+        double total = 0;
+        int terms = 0;
+        for(int gene = 0; gene < problem.activityCount(); gene++) {
+            for(int field = 0; field < 3; field++) {
+                int valueCount = switch (field) {
+                    case 0 -> problem.roomCount();
+                    case 1 -> problem.timeCount();
+                    default -> problem.facilitatorCount();
+                };
+                if(valueCount < 2) {
+                    continue;
+                }
+                for(Individual individual : individuals) {
+                    Chromosome chromosome = individual.chromosome();
+                    counts[switch (field) {
+                        case 0 -> chromosome.room(gene);
+                        case 1 -> chromosome.time(gene);
+                        default -> chromosome.facilitator(gene);
+                    }]++;
+                }
+                double entropy = 0;
+                for(int value = 0; value < valueCount; value++) {
+                    if(counts[value] > 0) {
+                        double p = (double) counts[value] / size;
+                        entropy -= p * Math.log(p);
+                    }
+                    counts[value] = 0;
+                }
+                total += entropy / Math.log(Math.min(size, valueCount));
+                terms++;
+            }
+        }
+        return terms == 0 ? 0 : total / terms;
+    }
+}
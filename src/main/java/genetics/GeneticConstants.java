@@ -1,11 +1,30 @@
 package genetics;
 
-import schedule.ScheduleConstants;
-
 public class GeneticConstants {
 
     public static final int POP_SIZE = 100;
     public static final double M_RATE = 0.01;
-    public static final int GENE_COUNT = ScheduleConstants.NUMBER_OF_ACTIVITIES;
+    public static final double SOFTMAX_TEMPERATURE = 1.0;
     public static final int GENERATION_COUNT = 100;
+    public static final int CHECKPOINT_INTERVAL = 10;
+    public static final String CHECKPOINT_FILE = "population.checkpoint";
+    public static final int MIGRATION_INTERVAL = 10;
+    public static final int MIGRATION_ELITES = 2;
+    public static final int LOCAL_SEARCH_ELITES = 5;
+    public static final int LOCAL_SEARCH_MOVES = 50;
+    public static final double DIVERSITY_ENTROPY_THRESHOLD = 0.3;
+    public static final double BOOSTED_M_RATE = 0.05;
+    public static final double IMMIGRANT_FRACTION = 0.1;
+    public static final int DUPLICATE_RETRIES = 3;
+    public static final int PROGRESS_INTERVAL = 10;
+    public static final int PROGRESS_QUEUE_SIZE = 1024;
+    public static final long PROGRESS_FILE_SIZE = 1 << 20;
+    public static final int PROGRESS_FILES = 5;
+    public static final int PIPELINE_QUEUE_SIZE = 64;
+    public static final int SERVICE_PORT = 8765;
+    public static final int SERVICE_MAX_JOBS = 64;
+    public static final int SERVICE_RETAINED_JOBS = 256;
+    public static final long SERVICE_SLICE_MILLIS = 20;
+    public static final long SERVICE_TIME_LIMIT_MILLIS = 10_000;
+    public static final int SERVICE_MAX_PROBLEM_BYTES = 1 << 20;
 }
@@ -5,7 +5,9 @@ import schedule.Room;
 import schedule.ScheduleConstants;
 import schedule.Time;
 
-import java.util.Random;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class GeneticInformation {
     private final Activity activity;
@@ -20,41 +22,41 @@ public class GeneticInformation {
         this.facilitator = facilitator;
     }
 
-    GeneticInformation copyGene() {
-        return new GeneticInformation(activity.copy(), room.copy(), time.copy(), facilitator);
+    public void mutateFacilitator() {
+        mutateFacilitator(ThreadLocalRandom.current());
     }
 
-    public void mutateFacilitator() {
-        Random random = new Random();
-        String newFacilitator;
-        do {
-            newFacilitator = ScheduleConstants.FACILITATORS.get(
-                    random.nextInt(ScheduleConstants.NUMBER_OF_FACILITATORS)
-            );
-        } while (newFacilitator.equals(facilitator));
-        facilitator = newFacilitator;
+    public void mutateFacilitator(RandomGenerator random) {
+        facilitator = otherThan(ScheduleConstants.FACILITATORS, facilitator, random);
     }
 
     public void mutateTime() {
-        Random random = new Random();
-        Time newTime;
-        do {
-            newTime = ScheduleConstants.TIMES.get(
-                    random.nextInt(ScheduleConstants.NUMBER_OF_TIMES)
-            );
-        } while(newTime.equals(time));
-        time = newTime;
+        mutateTime(ThreadLocalRandom.current());
+    }
+
+    public void mutateTime(RandomGenerator random) {
+        time = otherThan(ScheduleConstants.TIMES, time, random);
     }
 
     public void mutateRoom() {
-        Random random = new Random();
-        Room newRoom;
-        do {
-            newRoom = ScheduleConstants.ROOMS.get(
-                    random.nextInt( ScheduleConstants.NUMBER_OF_ROOMS)
-            );
-        } while (newRoom.equals(room));
-        room = newRoom;
+        mutateRoom(ThreadLocalRandom.current());
+    }
+
+    public void mutateRoom(RandomGenerator random) {
+        room = otherThan(ScheduleConstants.ROOMS, room, random);
+    }
+
+    //Uniform choice among the values that differ from current, one draw and no rejection loop
+    private static <T> T otherThan(List<T> values, T current, RandomGenerator random) {
+        int currentIndex = values.indexOf(current);
+        if(currentIndex < 0) {
+            return values.get(random.nextInt(values.size()));
+        }
+        if(values.size() < 2) {
+            return current;
+        }
+        int candidate = random.nextInt(values.size() - 1);
+        return values.get(candidate >= currentIndex ? candidate + 1 : candidate);
     }
 
     public Activity getActivity() {
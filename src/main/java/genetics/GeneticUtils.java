@@ -3,17 +3,17 @@ package genetics;
 import schedule.Activity;
 import schedule.Room;
 import schedule.ScheduleConstants;
+import schedule.ScheduleProblem;
 import schedule.Time;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 public class GeneticUtils {
 
-    private static final Random random = new Random();
-
     public static double calculateFitness(GeneticInformation targetGeneticInformation, Individual individual) {
         double fitnessScore = 0;
         List<GeneticInformation> remainingGeneticInformation = remainderOfGenes(targetGeneticInformation, individual);
@@ -72,13 +72,64 @@ public class GeneticUtils {
         // Facilitator is scheduled to oversee 1 or 2 activities*: -0.4
         // Exception: Dr. Tyler is committee chair and has other demands on his time.
         // No penalty if he’s only required to oversee < 2 activities.
-        else if(scheduledActivityCountForFacilitator < 3 && !targetGeneticInformation.getFacilitator().equals("Tyler")) {
+        else if(scheduledActivityCountForFacilitator < 3 && !individual.chromosome().problem().loadExemptFacilitators().contains(targetGeneticInformation.getFacilitator())) {
             fitnessScore -= 0.4;
         }
 
         return fitnessScore;
     }
 
+    //Activity is scheduled at the same time in the same room as another of the activities: -0.5
+    public static double roomClashScore(int activitiesInRoom) {
+        return activitiesInRoom > 1 ? -0.5 : 0;
+    }
+
+    //Room size and facilitator preference, these only depend on the gene itself and are tabulated per problem
+    public static double assignmentScore(ScheduleProblem problem, int gene, int room, int facilitator) {
+        return roomSizeScore(problem.enrollment(gene), problem.capacity(room))
+                + facilitatorPreferenceScore(problem.activity(gene), problem.facilitator(facilitator));
+    }
+
+    public static double roomSizeScore(int enrollment, int capacity) {
+        if(enrollment > capacity) {
+            return -0.5;
+        }
+        else if(capacity > 6 * enrollment) {
+            return -0.4;
+        }
+        else if(capacity > 3 * enrollment) {
+            return -0.2;
+        }
+        return 0.3;
+    }
+
+    public static double facilitatorPreferenceScore(Activity activity, String facilitatorName) {
+        if(activity.preferredFacilitators().contains(facilitatorName)) {
+            return 0.5;
+        }
+        else if(activity.otherFacilitators().contains(facilitatorName)) {
+            return 0.2;
+        }
+        return -0.1;
+    }
+
+    // Activity facilitator is scheduled for only 1 activity in this time slot: + 0.2, otherwise - 0.2
+    public static double facilitatorSlotScore(int activitiesForFacilitator) {
+        return activitiesForFacilitator == 1 ? 0.2 : -0.2;
+    }
+
+    // Facilitator is scheduled to oversee more than 4 activities total: -0.5
+    // Facilitator is scheduled to oversee 1 or 2 activities: -0.4, except the load exempt ones (Dr. Tyler)
+    public static double facilitatorLoadScore(int scheduledActivityCountForFacilitator, boolean loadExempt) {
+        if(scheduledActivityCountForFacilitator > 4) {
+            return -0.5;
+        }
+        else if(scheduledActivityCountForFacilitator < 3 && !loadExempt) {
+            return -0.4;
+        }
+        return 0;
+    }
+
     public static List<GeneticInformation> remainderOfGenes(GeneticInformation targetGeneticInformation, Individual individual) {
         return individual.geneList()
                 .stream()
@@ -111,8 +162,14 @@ public class GeneticUtils {
         return Collections.emptyList();
     }
 
-    public static boolean changesOccurred(double mutationRate) {
-        return (random.nextInt(1, (int)(1.0 / mutationRate))) == 1;
+    /*
+        Geometric skip sampling: with every position changing independently with probability mutationRate, returns
+        how many positions to skip before the next change. One draw per change instead of one per position.
+        logNoChange is Math.log1p(-mutationRate), computed once by the caller.
+     */
+    public static int positionsUntilChange(double logNoChange, RandomGenerator random) {
+        double skip = Math.floor(Math.log(1.0 - random.nextDouble()) / logNoChange);
+        return skip >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) skip;
     }
 
     public static GeneticInformation createRandomGene(Activity activity) {
@@ -144,19 +201,16 @@ public class GeneticUtils {
 
     }
 
-
-
-
     private static Room getRandomRoom() {
-        return ScheduleConstants.ROOMS.get(random.nextInt(ScheduleConstants.NUMBER_OF_ROOMS));
+        return ScheduleConstants.ROOMS.get(ThreadLocalRandom.current().nextInt(ScheduleConstants.NUMBER_OF_ROOMS));
     }
 
     private static Time getRandomTime() {
-        return ScheduleConstants.TIMES.get(random.nextInt(ScheduleConstants.NUMBER_OF_TIMES));
+        return ScheduleConstants.TIMES.get(ThreadLocalRandom.current().nextInt(ScheduleConstants.NUMBER_OF_TIMES));
     }
 
     private static String getRandomFacilitator() {
-        return ScheduleConstants.FACILITATORS.get(random.nextInt(ScheduleConstants.NUMBER_OF_FACILITATORS));
+        return ScheduleConstants.FACILITATORS.get(ThreadLocalRandom.current().nextInt(ScheduleConstants.NUMBER_OF_FACILITATORS));
     }
 
     public static boolean activitySame(GeneticInformation geneticInformation, GeneticInformation targetGeneticInformation) {
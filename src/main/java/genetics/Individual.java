@@ -1,207 +1,251 @@
 package genetics;
 
 import genetics.math.ProbableSelection;
-import schedule.Room;
-import schedule.ScheduleUtils;
+import schedule.ScheduleProblem;
 
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 //Genetic representation of a schedule
 public final class Individual implements ProbableSelection {
-    private final List<GeneticInformation> geneticInformationList;
+    //Replay at most a quarter of the genes
+    private static final int DELTA_EVALUATION_LIMIT = 4;
+    private final Chromosome chromosome;
+    private List<GeneticInformation> geneticInformationList; //decoded lazily, only needed for printing
+    private FitnessState fitnessState; //kept up to date through mutations once the fitness has been calculated
+    private FitnessState spareState; //buffers of a recycled individual, reused by the next evaluation
     private double fitness = -1;
     private double matingProbability = -1; //start off with no possibility to mate
-    private final SplittableRandom random;
 
     public Individual(List<GeneticInformation> geneticInformationList) {
-        this.random = new SplittableRandom();
-        this.geneticInformationList = geneticInformationList;
+        this(Chromosome.encode(ScheduleProblem.DEFAULT, geneticInformationList));
+    }
+
+    public Individual(Chromosome chromosome) {
+        this.chromosome = chromosome;
     }
 
     public void attemptMutation(double mutationRate) {
-        for (GeneticInformation geneticInformation : geneticInformationList) {
-            if (GeneticUtils.changesOccurred(mutationRate)) {
-                geneticInformation.mutateFacilitator();
-            }
-            if (GeneticUtils.changesOccurred(mutationRate)) {
-                geneticInformation.mutateRoom();
-            }
-            if (GeneticUtils.changesOccurred(mutationRate)) {
-                geneticInformation.mutateTime();
+        attemptMutation(mutationRate, ThreadLocalRandom.current());
+    }
+
+    /*
+        Every field of every gene (facilitator, room and time, in that order) changes with probability mutationRate.
+        The fields that change are found by geometric skips, so the random draws scale with the number of mutations
+        rather than with the chromosome length.
+     */
+    public void attemptMutation(double mutationRate, RandomGenerator random) {
+        if (mutationRate <= 0) {
+            return;
+        }
+        double logNoChange = Math.log1p(-Math.min(mutationRate, 1));
+        long fields = 3L * chromosome.length();
+        for (long field = GeneticUtils.positionsUntilChange(logNoChange, random); field < fields;
+             field += 1L + GeneticUtils.positionsUntilChange(logNoChange, random)) {
+            int gene = (int) (field / 3);
+            int room = chromosome.room(gene), time = chromosome.time(gene), facilitator = chromosome.facilitator(gene);
+            switch ((int) (field % 3)) {
+                case 0 -> chromosome.mutateFacilitator(gene, random);
+                case 1 -> chromosome.mutateRoom(gene, random);
+                default -> chromosome.mutateTime(gene, random);
             }
+            geneChanged(gene, room, time, facilitator);
         }
     }
 
-    public List<Individual> crossoverWith(Individual other) {
-        int indexOfDividingLine = random.nextInt(1, GeneticConstants.GENE_COUNT - 1);
-
-        List<GeneticInformation> firstHalf1 = this.splitGeneticInformation(0, indexOfDividingLine);
-        List<GeneticInformation> secondHalf1 = other.splitGeneticInformation(indexOfDividingLine, GeneticConstants.GENE_COUNT);
-        List<GeneticInformation> firstHalf2 = other.splitGeneticInformation(0, indexOfDividingLine);
-        List<GeneticInformation> secondHalf2 = this.splitGeneticInformation(indexOfDividingLine, GeneticConstants.GENE_COUNT);
-
-        Individual individual1 =
-                new Individual(Stream.concat(firstHalf1.stream(), secondHalf1.stream()).toList());
-        Individual individual2 =
-                new Individual(Stream.concat(firstHalf2.stream(), secondHalf2.stream()).toList());
-
-        return List.of(individual1, individual2);
-    }
-    public String niceFormat() {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder
-                .append("Schedule = {")
-                .append("\n");
-        for (GeneticInformation geneticInformation : geneticInformationList) {
-            stringBuilder.append("\t").append(geneticInformation.getFormatString()).append("\n");
+    //Changes one randomly chosen field of one randomly chosen gene, used to break up duplicates
+    void mutateRandomField(RandomGenerator random) {
+        int gene = random.nextInt(chromosome.length());
+        int room = chromosome.room(gene), time = chromosome.time(gene), facilitator = chromosome.facilitator(gene);
+        switch (random.nextInt(3)) {
+            case 0 -> chromosome.mutateFacilitator(gene, random);
+            case 1 -> chromosome.mutateRoom(gene, random);
+            default -> chromosome.mutateTime(gene, random);
         }
+        geneChanged(gene, room, time, facilitator);
+    }
 
-        stringBuilder.append("}");
-
-        return stringBuilder.toString();
+    //Independent copy sharing no mutable state, used when an individual moves to another population
+    public Individual copy() {
+        Individual copy = new Individual(chromosome.copy());
+        copy.fitnessState = fitnessState == null ? null : fitnessState.copy();
+        copy.fitness = fitness;
+        return copy;
     }
 
-    private List<GeneticInformation> splitGeneticInformation(int start, int end) {
-        return geneticInformationList.subList(start, end)
-                .stream()
-                .map(GeneticInformation::copyGene)
-                .toList();
+    private void geneChanged(int gene, int oldRoom, int oldTime, int oldFacilitator) {
+        geneticInformationList = null;
+        if (fitnessState != null) {
+            fitnessState.geneChanged(chromosome, gene, oldRoom, oldTime, oldFacilitator);
+        }
     }
 
-    public void attemptMutation() {
-        attemptMutation(GeneticConstants.M_RATE);
+    public List<Individual> crossoverWith(Individual other) {
+        return crossoverWith(other, ThreadLocalRandom.current());
     }
 
-    public void calculateFitness() {
-        double fitnessScore = geneticInformationList
-                .stream()
-                .mapToDouble(geneticInformation -> GeneticUtils.calculateFitness(geneticInformation, this))
-                .sum();
+    public List<Individual> crossoverWith(Individual other, RandomGenerator random) {
+        int indexOfDividingLine = random.nextInt(1, chromosome.length() - 1);
 
+        Individual individual1 = new Individual(this.chromosome.crossoverWith(other.chromosome, indexOfDividingLine));
+        Individual individual2 = new Individual(other.chromosome.crossoverWith(this.chromosome, indexOfDividingLine));
+        individual1.inheritFitnessState(this, other);
+        individual2.inheritFitnessState(this, other);
 
+        return List.of(individual1, individual2);
+    }
 
-        //The 2 sections of SLA 101 are more than 4 hours apart: + 0.5
-        final GeneticInformation SLA101A = GeneticUtils.getGeneByName("SLA101A", this);
-        final GeneticInformation SLA101B = GeneticUtils.getGeneByName("SLA101B", this);
-        if (SLA101A.getTime().differenceBetween(SLA101B.getTime()) > 4) {
-            fitnessScore += 0.5;
-        }
+    /*
+        Same children as crossoverWith, written in place into two recycled individuals of the same problem.
+        Their chromosome and fitness state buffers are reused, so nothing is allocated.
+     */
+    public void crossoverInto(Individual other, RandomGenerator random, Individual child1, Individual child2) {
+        int indexOfDividingLine = random.nextInt(1, chromosome.length() - 1);
+
+        child1.recycle();
+        child2.recycle();
+        this.chromosome.crossoverInto(other.chromosome, indexOfDividingLine, child1.chromosome);
+        other.chromosome.crossoverInto(this.chromosome, indexOfDividingLine, child2.chromosome);
+        child1.inheritFitnessState(this, other);
+        child2.inheritFitnessState(this, other);
+    }
 
-        //Both sections of SLA 101 are in the same time slot: -0.5
-        else if (SLA101A.getTime().equals(SLA101B.getTime())) {
-            fitnessScore -= 0.5;
+    private void recycle() {
+        if (fitnessState != null) {
+            spareState = fitnessState;
+            fitnessState = null;
         }
+        geneticInformationList = null;
+        fitness = -1;
+        matingProbability = -1;
+    }
 
-        //The 2 sections of SLA 191 are more than 4 hours apart: + 0.5
-        GeneticInformation SLA191A = GeneticUtils.getGeneByName("SLA191A", this);
-        GeneticInformation SLA191B = GeneticUtils.getGeneByName("SLA191B", this);
-        if (SLA191A.getTime().differenceBetween(SLA191B.getTime()) > 4) {
-            fitnessScore += 0.5;
+    /*
+        Converged parents usually differ in only a few genes, so the child starts from the fitness state of the
+        closer evaluated parent and replays the genes that differ. Falls back to a full evaluation otherwise.
+     */
+    private void inheritFitnessState(Individual parent1, Individual parent2) {
+        int differences1 = parent1.fitnessState == null ? Integer.MAX_VALUE : differingGenes(parent1.chromosome);
+        int differences2 = parent2.fitnessState == null ? Integer.MAX_VALUE : differingGenes(parent2.chromosome);
+        Individual parent = differences1 <= differences2 ? parent1 : parent2;
+        if (Math.min(differences1, differences2) > chromosome.length() / DELTA_EVALUATION_LIMIT) {
+            return;
         }
 
-        //Both sections of SLA 191 are in the same time slot: -0.5
-        else if (SLA191A.getTime().equals(SLA191B.getTime())) {
-            fitnessScore -= 0.5;
+        if (spareState != null) {
+            fitnessState = spareState;
+            spareState = null;
+            fitnessState.copyFrom(parent.fitnessState);
+        } else {
+            fitnessState = parent.fitnessState.copy();
         }
-
-        //4 possible combos: SLA101A with SLA191A, SLA101B with SLA191A, SLA101A with SLA191B, SLA101B with SLA191B
-        final Room roman201 = ScheduleUtils.getRoomByName("Roman 201");
-        final Room beach201 = ScheduleUtils.getRoomByName("Beach 201");
-
-        if (SLA101A.getTime().differenceBetween(SLA191A.getTime()) == 1) {
-            fitnessScore += 0.5;
-            if (GeneticUtils.roomRequirementsMet(SLA101A, SLA191A, roman201, beach201)) {
-                fitnessScore -= 0.4;
-            }
-        } else if (SLA101B.getTime().differenceBetween(SLA191A.getTime()) == 1) {
-            fitnessScore += 0.5;
-            if (GeneticUtils.roomRequirementsMet(SLA101B, SLA191A, roman201, beach201)) {
-                fitnessScore -= 0.4;
-            }
-        } else if (SLA101A.getTime().differenceBetween(SLA191B.getTime()) == 1) {
-            fitnessScore += 0.5;
-            if (GeneticUtils.roomRequirementsMet(SLA101A, SLA191B, roman201, beach201)) {
-                fitnessScore -= 0.4;
-            }
-        } else if (SLA101B.getTime().differenceBetween(SLA191B.getTime()) == 1) {
-            fitnessScore += 0.5;
-            if (GeneticUtils.roomRequirementsMet(SLA101B, SLA191B, roman201, beach201)) {
-                fitnessScore -= 0.4;
+        for (int gene = 0; gene < chromosome.length(); gene++) {
+            Chromosome parentChromosome = parent.chromosome;
+            if (!chromosome.sameGene(gene, parentChromosome)) {
+                fitnessState.geneChanged(chromosome, gene,
+                        parentChromosome.room(gene), parentChromosome.time(gene), parentChromosome.facilitator(gene));
             }
         }
+    }
 
-
-        //A section of SLA 191 and a section of SLA 101 are taught separated by 1 hour (e.g., 10 AM & 12:00 Noon): + 0.25
-        else if (SLA101A.getTime().differenceBetween(SLA191A.getTime()) > 1) {
-            fitnessScore += 0.25;
-        } else if (SLA101B.getTime().differenceBetween(SLA191A.getTime()) > 1) {
-            fitnessScore += 0.25;
-        } else if (SLA101A.getTime().differenceBetween(SLA191B.getTime()) > 1) {
-            fitnessScore += 0.25;
-        } else if (SLA101B.getTime().differenceBetween(SLA191B.getTime()) > 1) {
-            fitnessScore += 0.25;
+    private int differingGenes(Chromosome other) {
+        int differences = 0;
+        for (int gene = 0; gene < chromosome.length(); gene++) {
+            if (!chromosome.sameGene(gene, other)) {
+                differences++;
+            }
         }
+        return differences;
+    }
 
-        //A section of SLA 191 and a section of SLA 101 are taught in the same time slot: -0.25
-        else if (SLA101A.getTime().equals(SLA191A.getTime())) {
-            fitnessScore -= 0.25;
-        } else if (SLA101B.getTime().equals(SLA191A.getTime())) {
-            fitnessScore -= 0.25;
-        } else if (SLA101A.getTime().equals(SLA191B.getTime())) {
-            fitnessScore -= 0.25;
-        } else if (SLA101B.getTime().equals(SLA191B.getTime())) {
-            fitnessScore -= 0.25;
+    public String niceFormat() {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder
+                .append("Schedule = {")
+                .append("\n");
+        for (GeneticInformation geneticInformation : geneList()) {
+            stringBuilder.append("\t").append(geneticInformation.getFormatString()).append("\n");
         }
 
-        Map<String, List<GeneticInformation>> facilitatorToActivityMap = new HashMap<>();
-        for (GeneticInformation geneticInformation : geneticInformationList) {
-            if (!facilitatorToActivityMap.containsKey(geneticInformation.getFacilitator())) {
-                facilitatorToActivityMap.put(geneticInformation.getFacilitator(), new ArrayList<>(List.of(geneticInformation)));
-            } else {
-                List<GeneticInformation> geneticInformations = facilitatorToActivityMap.get(geneticInformation.getFacilitator());
-                geneticInformations.add(geneticInformation);
-                facilitatorToActivityMap.put(geneticInformation.getFacilitator(), geneticInformations);
-            }
+        stringBuilder.append("}");
+
+        return stringBuilder.toString();
+    }
+
+    public void attemptMutation() {
+        attemptMutation(GeneticConstants.M_RATE);
+    }
+
+    /*
+        Local search moves: sets one gene and returns the resulting fitness. Cheap because the fitness state is
+        updated incrementally, and exact, so setting the old values again restores the previous fitness.
+     */
+    double assignGene(int gene, int room, int time, int facilitator) {
+        if (fitnessState == null) {
+            calculateFitness();
         }
-        List<GeneticInformation> consecutiveGeneticInformations = Collections.emptyList();
+        int oldRoom = chromosome.room(gene), oldTime = chromosome.time(gene), oldFacilitator = chromosome.facilitator(gene);
+        chromosome.setRoom(gene, room);
+        chromosome.setTime(gene, time);
+        chromosome.setFacilitator(gene, facilitator);
+        geneChanged(gene, oldRoom, oldTime, oldFacilitator);
+        calculateFitness();
+        return fitness;
+    }
 
-        for (var entry : facilitatorToActivityMap.entrySet()) {
-            for (int i = 0; i < entry.getValue().size(); i++) {
-                if (GeneticUtils.areAnyTimesConsecutive(entry.getValue())) {
-                    consecutiveGeneticInformations = GeneticUtils.getConsistantTimes(entry.getValue());
-                }
-            }
+    public void calculateFitness() {
+        if (fitnessState == null && spareState != null) {
+            spareState.reevaluate(chromosome);
+            fitnessState = spareState;
+            spareState = null;
+        } else if (fitnessState == null) {
+            fitnessState = FitnessState.evaluate(chromosome);
         }
+        fitness = fitnessState.total(chromosome);
+    }
 
-        if (!consecutiveGeneticInformations.isEmpty()) {
-            fitnessScore += 0.5;
-            if (GeneticUtils.roomRequirementsMet(
-                    consecutiveGeneticInformations.get(0),
-                    consecutiveGeneticInformations.get(1),
-                    roman201,
-                    beach201)) {
-                fitnessScore -= 0.4;
+    //Individuals that carry a fitness state are re-scored incrementally, the rest are looked up before a full evaluation
+    public void calculateFitness(FitnessCache fitnessCache) {
+        if (fitnessState == null) {
+            double cachedFitness = fitnessCache.get(chromosome);
+            if (!Double.isNaN(cachedFitness)) {
+                fitness = cachedFitness;
+                return;
             }
+            calculateFitness();
+            fitnessCache.put(chromosome, fitness);
+            return;
         }
-        fitness = fitnessScore;
+        calculateFitness();
     }
 
     @Override
     public String toString() {
         return "Chromosome{" +
-                "geneList=" + geneticInformationList +
+                "geneList=" + geneList() +
                 '}';
     }
 
     public List<GeneticInformation> geneList() {
+        if (geneticInformationList == null) {
+            geneticInformationList = chromosome.decode();
+        }
         return geneticInformationList;
     }
 
+    public Chromosome chromosome() {
+        return chromosome;
+    }
+
     public void setMatingProbability(double matingProbability) {
         this.matingProbability = matingProbability;
     }
 
+    void restoreFitness(double fitness) {
+        this.fitness = fitness;
+    }
+
     public double getFitness() {
         return fitness;
     }
@@ -0,0 +1,190 @@
+package genetics;
+
+import genetics.metrics.GenerationListener;
+import schedule.ScheduleProblem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    Runs independent populations side by side, one per thread, each with its own random stream split from a
+    single seed. Every migration interval the fittest individuals of each island replace the weakest of another.
+ */
+public class IslandModel implements AutoCloseable {
+
+    private final List<Population> islands;
+    private final MigrationPolicy migrationPolicy;
+    private final ExecutorService executor;
+    private final SplittableRandom random;
+    private int generationCount;
+
+    public IslandModel(int islandCount, MigrationPolicy migrationPolicy, long seed) {
+        this(ScheduleProblem.DEFAULT, islandCount, migrationPolicy, seed);
+    }
+
+    public IslandModel(ScheduleProblem problem, int islandCount, MigrationPolicy migrationPolicy, long seed) {
+        if(islandCount < 1) {
+            throw new IllegalArgumentException("At least one island is required");
+        }
+        this.migrationPolicy = migrationPolicy;
+        this.random = new SplittableRandom(seed);
+        this.islands = new ArrayList<>(islandCount);
+        for(int i = 0; i < islandCount; i++) {
+            Population island = new Population(problem, GeneticConstants.POP_SIZE, random.split());
+            island.setParallelRanking(false);
+            island.setBreedingThreads(1);
+            islands.add(island);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(islandCount, runnable -> {
+            Thread thread = new Thread(runnable, "island-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public IslandModel(int islandCount, long seed) {
+        this(islandCount, MigrationPolicy.defaultPolicy(), seed);
+    }
+
+    public void setLocalSearch(LocalSearch localSearch) {
+        for(Population island : islands) {
+            island.setLocalSearch(localSearch);
+        }
+    }
+
+    //Migrants are copies, so recycling is safe across islands
+    public void setRecycleIndividuals(boolean recycleIndividuals) {
+        for(Population island : islands) {
+            island.setRecycleIndividuals(recycleIndividuals);
+        }
+    }
+
+    public void setDiversityPolicy(DiversityPolicy diversityPolicy) {
+        for(Population island : islands) {
+            island.setDiversityPolicy(diversityPolicy);
+        }
+    }
+
+    //Called on the island threads, metrics are per island
+    public void addGenerationListener(GenerationListener generationListener) {
+        for(Population island : islands) {
+            island.addGenerationListener(generationListener);
+        }
+    }
+
+    public void runGenerations(int generations) {
+        int remaining = generations;
+        while(remaining > 0) {
+            int untilMigration = migrationPolicy.interval() - generationCount % migrationPolicy.interval();
+            int epoch = Math.min(remaining, untilMigration);
+            runEpoch(epoch);
+            generationCount += epoch;
+            remaining -= epoch;
+            if(generationCount % migrationPolicy.interval() == 0) {
+                migrate();
+            }
+        }
+    }
+
+    public void runGeneration() {
+        runGenerations(1);
+    }
+
+    private void runEpoch(int generations) {
+        List<Future<?>> futures = new ArrayList<>(islands.size());
+        for(Population island : islands) {
+            futures.add(executor.submit(() -> {
+                for(int i = 0; i < generations; i++) {
+                    island.runGeneration();
+                }
+            }));
+        }
+        try {
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while islands were evolving", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("An island failed to evolve", e.getCause());
+        }
+    }
+
+    private void migrate() {
+        if(islands.size() < 2 || migrationPolicy.eliteCount() == 0) {
+            return;
+        }
+        List<List<Individual>> emigrants = new ArrayList<>(islands.size());
+        for(Population island : islands) {
+            emigrants.add(island.getBestIndividuals(migrationPolicy.eliteCount()));
+        }
+        List<List<Individual>> immigrants = new ArrayList<>(islands.size());
+        for(int i = 0; i < islands.size(); i++) {
+            immigrants.add(new ArrayList<>());
+        }
+        for(int source = 0; source < islands.size(); source++) {
+            immigrants.get(destinationOf(source)).addAll(emigrants.get(source));
+        }
+        for(int i = 0; i < islands.size(); i++) {
+            islands.get(i).replaceWorstIndividuals(immigrants.get(i));
+        }
+    }
+
+    private int destinationOf(int source) {
+        return switch (migrationPolicy.topology()) {
+            case RING -> (source + 1) % islands.size();
+            case RANDOM -> {
+                int destination = random.nextInt(islands.size() - 1);
+                yield destination >= source ? destination + 1 : destination;
+            }
+        };
+    }
+
+    public Individual getBestIndividual() {
+        return islands.stream()
+                .map(Population::getBestIndividual)
+                .max(Comparator.comparingDouble(Individual::getFitness))
+                .orElseThrow();
+    }
+
+    public double getAverageFitness() {
+        return islands.stream()
+                .mapToDouble(Population::getAverageFitness)
+                .average()
+                .orElseThrow();
+    }
+
+    public void printBestIndividualInformation() {
+        Individual best = getBestIndividual();
+        System.out.println("_______________________________________________________");
+        System.out.println("Best Individual across " + islands.size() + " islands from generation: " + generationCount);
+        System.out.println(best);
+        System.out.println("Fitness Score: " + best.getFitness());
+        System.out.println("_______________________________________________________");
+    }
+
+    public int getGenerationCount() {
+        return generationCount;
+    }
+
+    //Evaluations of all islands, migrants included
+    public long getEvaluationCount() {
+        return islands.stream()
+                .mapToLong(Population::getEvaluationCount)
+                .sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
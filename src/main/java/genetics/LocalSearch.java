@@ -0,0 +1,132 @@
+package genetics;
+
+import schedule.ScheduleProblem;
+
+import java.util.random.RandomGenerator;
+
+/*
+    Memetic stage: bounded first-improvement hill climbing on the fittest individuals of a generation.
+    Each move is a room swap between two activities, a shift of one activity to the slot an hour earlier or later or a
+    new facilitator for one activity. Moves are scored incrementally, the first one that improves the fitness is
+    kept and the search continues from there until the move budget is used up. A move helper returns NaN when it
+    found nothing to try, so only moves that were actually scored count as evaluations.
+ */
+public final class LocalSearch {
+
+    private final int eliteCount;
+    private final int maxMoves;
+
+    public LocalSearch(int eliteCount, int maxMoves) {
+        if(eliteCount < 1 || maxMoves < 1) {
+            throw new IllegalArgumentException("Local search needs at least one individual and one move");
+        }
+        this.eliteCount = eliteCount;
+        this.maxMoves = maxMoves;
+    }
+
+    public static LocalSearch defaultSearch() {
+        return new LocalSearch(GeneticConstants.LOCAL_SEARCH_ELITES, GeneticConstants.LOCAL_SEARCH_MOVES);
+    }
+
+    //The individual must have been evaluated already, returns the number of moves scored
+    public int improve(Individual individual, RandomGenerator random) {
+        double fitness = individual.getFitness();
+        int evaluations = 0;
+        for(int move = 0; move < maxMoves; move++) {
+            double moved = switch (random.nextInt(3)) {
+                case 0 -> swapRooms(individual, fitness, random);
+                case 1 -> shiftTime(individual, fitness, random);
+                default -> reassignFacilitator(individual, fitness, random);
+            };
+            if(!Double.isNaN(moved)) {
+                fitness = moved;
+                evaluations++;
+            }
+        }
+        return evaluations;
+    }
+
+    private static double swapRooms(Individual individual, double fitness, RandomGenerator random) {
+        Chromosome chromosome = individual.chromosome();
+        if(chromosome.length() < 2) {
+            return Double.NaN;
+        }
+        int gene1 = random.nextInt(chromosome.length());
+        int gene2 = otherThan(gene1, chromosome.length(), random);
+        int room1 = chromosome.room(gene1);
+        int room2 = chromosome.room(gene2);
+        if(room1 == room2) {
+            return Double.NaN;
+        }
+        individual.assignGene(gene1, room2, chromosome.time(gene1), chromosome.facilitator(gene1));
+        double moved = individual.assignGene(gene2, room1, chromosome.time(gene2), chromosome.facilitator(gene2));
+        if(moved > fitness) {
+            return moved;
+        }
+        individual.assignGene(gene2, room2, chromosome.time(gene2), chromosome.facilitator(gene2));
+        individual.assignGene(gene1, room1, chromosome.time(gene1), chromosome.facilitator(gene1));
+        return fitness;
+    }
+
+    //Times may be declared in any order, so the neighbouring slot is found by its hour rather than its index
+    private static double shiftTime(Individual individual, double fitness, RandomGenerator random) {
+        Chromosome chromosome = individual.chromosome();
+        ScheduleProblem problem = chromosome.problem();
+        int gene = random.nextInt(chromosome.length());
+        int time = chromosome.time(gene);
+        int direction = random.nextBoolean() ? 1 : -1;
+        int shifted = timeAtHour(problem, problem.hour(time) + direction);
+        if(shifted < 0) {
+            shifted = timeAtHour(problem, problem.hour(time) - direction);
+        }
+        if(shifted < 0) {
+            return Double.NaN;
+        }
+        return tryGene(individual, fitness, gene, chromosome.room(gene), shifted, chromosome.facilitator(gene));
+    }
+
+    //Index of the time slot starting at hour, -1 when the problem has none
+    private static int timeAtHour(ScheduleProblem problem, int hour) {
+        for(int time = 0; time < problem.timeCount(); time++) {
+            if(problem.hour(time) == hour) {
+                return time;
+            }
+        }
+        return -1;
+    }
+
+    private static double reassignFacilitator(Individual individual, double fitness, RandomGenerator random) {
+        Chromosome chromosome = individual.chromosome();
+        int facilitatorCount = chromosome.problem().facilitatorCount();
+        if(facilitatorCount < 2) {
+            return Double.NaN;
+        }
+        int gene = random.nextInt(chromosome.length());
+        int facilitator = otherThan(chromosome.facilitator(gene), facilitatorCount, random);
+        return tryGene(individual, fitness, gene, chromosome.room(gene), chromosome.time(gene), facilitator);
+    }
+
+    private static double tryGene(Individual individual, double fitness, int gene, int room, int time, int facilitator) {
+        Chromosome chromosome = individual.chromosome();
+        int oldRoom = chromosome.room(gene), oldTime = chromosome.time(gene), oldFacilitator = chromosome.facilitator(gene);
+        double moved = individual.assignGene(gene, room, time, facilitator);
+        if(moved > fitness) {
+            return moved;
+        }
+        individual.assignGene(gene, oldRoom, oldTime, oldFacilitator);
+        return fitness;
+    }
+
+    private static int otherThan(int current, int bound, RandomGenerator random) {
+        int candidate = random.nextInt(bound - 1);
+        return candidate >= current ? candidate + 1 : candidate;
+    }
+
+    public int getEliteCount() {
+        return eliteCount;
+    }
+
+    public int getMaxMoves() {
+        return maxMoves;
+    }
+}
@@ -0,0 +1,70 @@
+package genetics;
+
+import java.util.Arrays;
+
+//Open addressing set of longs that is cleared and refilled every generation without boxing or allocating
+final class LongHashSet {
+
+    private long[] keys = new long[16];
+    private boolean[] used = new boolean[16];
+    private int size;
+
+    //Clears the set and makes sure it holds expected keys without growing
+    void clear(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        if(capacity > keys.length) {
+            keys = new long[capacity];
+            used = new boolean[capacity];
+        } else {
+            Arrays.fill(used, false);
+        }
+        size = 0;
+    }
+
+    boolean contains(long key) {
+        int mask = keys.length - 1;
+        for(int slot = mix(key) & mask; used[slot]; slot = slot + 1 & mask) {
+            if(keys[slot] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Returns false when the key was already present
+    boolean add(long key) {
+        if(size * 2 >= keys.length) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while(used[slot]) {
+            if(keys[slot] == key) {
+                return false;
+            }
+            slot = slot + 1 & mask;
+        }
+        keys[slot] = key;
+        used[slot] = true;
+        size++;
+        return true;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+        for(int slot = 0; slot < oldKeys.length; slot++) {
+            if(oldUsed[slot]) {
+                add(oldKeys[slot]);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ mixed >>> 32);
+    }
+}
@@ -0,0 +1,26 @@
+package genetics;
+
+//How often and to where islands send copies of their fittest individuals
+public record MigrationPolicy(Topology topology, int interval, int eliteCount) {
+
+    public enum Topology {
+        RING,   //island i sends to island i + 1
+        RANDOM  //every island sends to a randomly chosen other island
+    }
+
+    public MigrationPolicy {
+        if(topology == null) {
+            throw new IllegalArgumentException("A migration topology is required");
+        }
+        if(interval < 1) {
+            throw new IllegalArgumentException("The migration interval must be at least 1 generation");
+        }
+        if(eliteCount < 0 || eliteCount > GeneticConstants.POP_SIZE / 2) {
+            throw new IllegalArgumentException("The number of migrating elites must be between 0 and half the population");
+        }
+    }
+
+    public static MigrationPolicy defaultPolicy() {
+        return new MigrationPolicy(Topology.RING, GeneticConstants.MIGRATION_INTERVAL, GeneticConstants.MIGRATION_ELITES);
+    }
+}
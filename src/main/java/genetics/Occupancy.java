@@ -0,0 +1,102 @@
+package genetics;
+
+import schedule.ScheduleProblem;
+
+import java.util.Arrays;
+
+/*
+    Per-individual occupancy counts: activities per (time, room), per (time, facilitator) and per facilitator.
+    Each facilitator also has a bitmask of the hours of the day they teach in, bit h is set while at least one
+    of their activities is at hour h. Consecutive hours are then a shift and an AND away.
+ */
+public final class Occupancy {
+    private final ScheduleProblem problem;
+    private final int roomCount;
+    private final int facilitatorCount;
+    private final int[] roomSlots;
+    private final int[] facilitatorSlots;
+    private final int[] facilitatorLoads;
+    private final int[] facilitatorHours;
+
+    private Occupancy(ScheduleProblem problem) {
+        this.problem = problem;
+        this.roomCount = problem.roomCount();
+        this.facilitatorCount = problem.facilitatorCount();
+        this.roomSlots = new int[problem.timeCount() * roomCount];
+        this.facilitatorSlots = new int[problem.timeCount() * facilitatorCount];
+        this.facilitatorLoads = new int[facilitatorCount];
+        this.facilitatorHours = new int[facilitatorCount];
+    }
+
+    private Occupancy(Occupancy other) {
+        this.problem = other.problem;
+        this.roomCount = other.roomCount;
+        this.facilitatorCount = other.facilitatorCount;
+        this.roomSlots = other.roomSlots.clone();
+        this.facilitatorSlots = other.facilitatorSlots.clone();
+        this.facilitatorLoads = other.facilitatorLoads.clone();
+        this.facilitatorHours = other.facilitatorHours.clone();
+    }
+
+    public static Occupancy of(Chromosome chromosome) {
+        Occupancy occupancy = new Occupancy(chromosome.problem());
+        occupancy.fill(chromosome);
+        return occupancy;
+    }
+
+    //Recounts from scratch, chromosome must belong to the problem this occupancy was built for
+    public void fill(Chromosome chromosome) {
+        Arrays.fill(roomSlots, 0);
+        Arrays.fill(facilitatorSlots, 0);
+        Arrays.fill(facilitatorLoads, 0);
+        Arrays.fill(facilitatorHours, 0);
+        for(int gene = 0; gene < chromosome.length(); gene++) {
+            add(chromosome.room(gene), chromosome.time(gene), chromosome.facilitator(gene));
+        }
+    }
+
+    public void copyFrom(Occupancy other) {
+        System.arraycopy(other.roomSlots, 0, roomSlots, 0, roomSlots.length);
+        System.arraycopy(other.facilitatorSlots, 0, facilitatorSlots, 0, facilitatorSlots.length);
+        System.arraycopy(other.facilitatorLoads, 0, facilitatorLoads, 0, facilitatorLoads.length);
+        System.arraycopy(other.facilitatorHours, 0, facilitatorHours, 0, facilitatorHours.length);
+    }
+
+    public Occupancy copy() {
+        return new Occupancy(this);
+    }
+
+    public void add(int room, int time, int facilitator) {
+        roomSlots[time * roomCount + room]++;
+        if(facilitatorSlots[time * facilitatorCount + facilitator]++ == 0) {
+            facilitatorHours[facilitator] |= 1 << problem.hour(time);
+        }
+        facilitatorLoads[facilitator]++;
+    }
+
+    public void remove(int room, int time, int facilitator) {
+        roomSlots[time * roomCount + room]--;
+        if(--facilitatorSlots[time * facilitatorCount + facilitator] == 0) {
+            facilitatorHours[facilitator] &= ~(1 << problem.hour(time));
+        }
+        facilitatorLoads[facilitator]--;
+    }
+
+    public int activitiesInRoom(int room, int time) {
+        return roomSlots[time * roomCount + room];
+    }
+
+    public int activitiesForFacilitator(int facilitator, int time) {
+        return facilitatorSlots[time * facilitatorCount + facilitator];
+    }
+
+    public int facilitatorLoad(int facilitator) {
+        return facilitatorLoads[facilitator];
+    }
+
+    //Whether the facilitator teaches in the hour before or after hour
+    public boolean teachesNextTo(int facilitator, int hour) {
+        int hourBit = 1 << hour;
+        return (facilitatorHours[facilitator] & (hourBit << 1 | hourBit >>> 1)) != 0;
+    }
+}
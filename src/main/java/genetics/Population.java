@@ -1,23 +1,90 @@
 package genetics;
 
-import genetics.math.Picker;
+import genetics.metrics.GenerationEvent;
+import genetics.metrics.GenerationListener;
+import genetics.metrics.GenerationMetrics;
+import genetics.math.SelectionStrategy;
+import genetics.math.Selector;
 import genetics.math.SoftMax;
-import schedule.Activity;
-import schedule.ScheduleConstants;
+import schedule.ScheduleProblem;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 public class Population {
 
+    //Shared by the pipelined populations, the stages block on the offspring queue so they cannot run in the common pool
+    private static final AtomicInteger PIPELINE_THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService PIPELINE_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "generation-pipeline-" + PIPELINE_THREAD_COUNT.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final long PIPELINE_POLL_MILLIS = 10; //how quickly blocked stages notice an aborted generation
+    private static final Object END_OF_OFFSPRING = new Object(); //queued once per evaluator after the last child
+
     private int generationCount;
+    private long evaluationCount;
     private final List<Individual> population;
+    private SplittableRandom random;
+    private boolean parallelRanking = true;
+    private int breedingThreads = Runtime.getRuntime().availableProcessors();
+    private SelectionStrategy selectionStrategy = SelectionStrategy.ROULETTE;
+    private double softMaxTemperature = GeneticConstants.SOFTMAX_TEMPERATURE;
+    private double[] matingProbabilities = new double[0]; //reused every generation
+    private FitnessCache fitnessCache;
+    private LocalSearch localSearch;
+    private DiversityPolicy diversityPolicy;
+    private double mutationRate = GeneticConstants.M_RATE;
+    private double breedingMutationRate = GeneticConstants.M_RATE; //raised while diversity is low
+    private long duplicatesSuppressed;
+    private boolean recycleIndividuals;
+    private Individual[] spares = new Individual[0]; //culled individuals waiting to be overwritten by offspring
+    private int spareCount;
+    private Individual[] offspringBuffer = new Individual[0];
+    private final LongHashSet offspringHashes = new LongHashSet();
+    private boolean pipelined;
+    private final List<GenerationListener> generationListeners = new CopyOnWriteArrayList<>();
 
     public Population() {
-        population = new ArrayList<>(GeneticConstants.POP_SIZE + 10);
+        this(new SplittableRandom());
+    }
+
+    public Population(SplittableRandom random) {
+        this(ScheduleProblem.DEFAULT, GeneticConstants.POP_SIZE, random);
+    }
+
+    //Every generation keeps half and breeds the other half, which only restores the size when it is even
+    public Population(ScheduleProblem problem, int size, SplittableRandom random) {
+        if(size < 2 || size % 2 != 0) {
+            throw new IllegalArgumentException("A population needs an even number of at least 2 individuals, not " + size);
+        }
+        this.random = random;
+        population = new ArrayList<>(size + 10);
         generationCount = 0;
-        generateInitialPopulation();
+        generateInitialPopulation(problem, size);
+    }
+
+    //Restores a checkpointed population, individuals must already be ranked best first
+    Population(List<Individual> individuals, int generationCount, SplittableRandom random) {
+        this.random = random;
+        this.population = new ArrayList<>(individuals.size() * 2 + 10);
+        this.population.addAll(individuals);
+        this.generationCount = generationCount;
     }
 
     public void printBestIndividualInformation() {
@@ -36,72 +103,634 @@ public class Population {
         return total / population.size();
     }
     public void runGeneration() {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        long cacheHits = fitnessCache == null ? 0 : fitnessCache.getHits();
+        long cacheMisses = fitnessCache == null ? 0 : fitnessCache.getMisses();
+
+        int evaluations = 0;
+        long initialRankNanos = 0;
         if(generationCount == 0) {
+            long initialStart = System.nanoTime();
             rankInitialPopulation();
+            initialRankNanos = System.nanoTime() - initialStart;
+            evaluations += population.size();
         }
+        long start = System.nanoTime();
         cullHalfPopulation();
+        long culled = System.nanoTime();
 
-        reproduceHalfPopulation();
+        //Pipelined, breeding and evaluation overlap and both count as reproduction
+        if(pipelined) {
+            breedAndRankPipelined();
+        } else {
+            reproduceHalfPopulation();
+        }
+        long reproduced = System.nanoTime();
 
-        rankPopulation();
+        if(!pipelined) {
+            rankPopulation();
+        }
+        long ranked = System.nanoTime();
+        evaluations += population.size() / 2;
+        long evaluationNanos = (pipelined ? ranked - culled : ranked - reproduced) + initialRankNanos;
+        int rankEvaluations = evaluations;
+
+        //Local search and the diversity response work on the ranked population and are timed in none of the phases
+        if(localSearch != null) {
+            evaluations += improveElites();
+        }
+        double geneEntropy = Double.NaN;
+        if(diversityPolicy != null && diversityPolicy.response() != DiversityPolicy.Response.NONE) {
+            geneEntropy = GeneEntropy.of(population);
+            evaluations += respondToDiversity(geneEntropy);
+        }
 
         generationCount++;
+        evaluationCount += evaluations;
+
+        if(generationListeners.isEmpty() && !event.shouldCommit()) {
+            return;
+        }
+        GenerationMetrics metrics = new GenerationMetrics(
+                generationCount,
+                culled - start,
+                reproduced - culled,
+                ranked - reproduced + initialRankNanos,
+                evaluations,
+                rankEvaluations / (evaluationNanos / 1e9),
+                population.get(0).getFitness(),
+                getAverageFitness(),
+                population.get(population.size() - 1).getFitness(),
+                getDiversity(),
+                Double.isNaN(geneEntropy) ? GeneEntropy.of(population) : geneEntropy,
+                fitnessCache == null ? Double.NaN : hitRateSince(cacheHits, cacheMisses)
+        );
+        event.set(metrics);
+        event.commit();
+        for(GenerationListener generationListener : generationListeners) {
+            generationListener.onGeneration(metrics);
+        }
+    }
+
+    //Returns the number of extra evaluations the response needed
+    private int respondToDiversity(double geneEntropy) {
+        boolean low = geneEntropy < diversityPolicy.entropyThreshold();
+        switch (diversityPolicy.response()) {
+            case RAISE_MUTATION_RATE -> breedingMutationRate = low
+                    ? Math.max(mutationRate, diversityPolicy.boostedMutationRate())
+                    : mutationRate;
+            case RANDOM_IMMIGRANTS -> {
+                if(low) {
+                    int count = Math.max(1, (int) Math.round(diversityPolicy.immigrantFraction() * population.size()));
+                    ScheduleProblem problem = population.get(0).chromosome().problem();
+                    List<Individual> immigrants = new ArrayList<>(count);
+                    for(int i = 0; i < count; i++) {
+                        immigrants.add(new Individual(Chromosome.random(problem, random)));
+                    }
+                    admitImmigrants(immigrants);
+                    return count;
+                }
+            }
+            case NONE -> {
+            }
+        }
+        return 0;
+    }
+
+    /*
+        Children that copy a survivor or an earlier child get a random field changed, a few times at most, and are
+        replaced by a random schedule if that does not make them unique. Runs before evaluation, so no evaluation
+        is spent on a schedule the population already has.
+     */
+    private void suppressDuplicates(List<Individual> children) {
+        LongHashSet hashes = offspringHashes;
+        hashes.clear(population.size() + children.size());
+        for(Individual individual : population) {
+            hashes.add(individual.chromosome().zobristHash());
+        }
+        for(int i = 0; i < children.size(); i++) {
+            Individual child = children.get(i);
+            if(!hashes.contains(child.chromosome().zobristHash())) {
+                hashes.add(child.chromosome().zobristHash());
+                continue;
+            }
+            duplicatesSuppressed++;
+            for(int retry = 0; retry < GeneticConstants.DUPLICATE_RETRIES && hashes.contains(child.chromosome().zobristHash()); retry++) {
+                child.mutateRandomField(random);
+            }
+            if(hashes.contains(child.chromosome().zobristHash())) {
+                child = new Individual(Chromosome.random(child.chromosome().problem(), random));
+                children.set(i, child);
+            }
+            hashes.add(child.chromosome().zobristHash());
+        }
+    }
+
+    private double hitRateSince(long previousHits, long previousMisses) {
+        long hits = fitnessCache.getHits() - previousHits;
+        long lookups = hits + fitnessCache.getMisses() - previousMisses;
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+
+    //Fraction of individuals whose schedule is not an exact copy of another one
+    public double getDiversity() {
+        long[] hashes = new long[population.size()];
+        for(int i = 0; i < hashes.length; i++) {
+            hashes[i] = population.get(i).chromosome().zobristHash();
+        }
+        Arrays.sort(hashes);
+        int distinct = hashes.length == 0 ? 0 : 1;
+        for(int i = 1; i < hashes.length; i++) {
+            if(hashes[i] != hashes[i - 1]) {
+                distinct++;
+            }
+        }
+        return (double) distinct / population.size();
+    }
+
+    public void addGenerationListener(GenerationListener generationListener) {
+        generationListeners.add(generationListener);
+    }
+
+    public void removeGenerationListener(GenerationListener generationListener) {
+        generationListeners.remove(generationListener);
     }
     public Individual getBestIndividual() {
         return population.get(0);
     }
 
+    //Copies of the count fittest individuals, safe to hand over to another population
+    public List<Individual> getBestIndividuals(int count) {
+        return population.subList(0, Math.min(count, population.size()))
+                .stream()
+                .map(Individual::copy)
+                .toList();
+    }
+
+    //Immigrants take the places of the least fit individuals, the ranking is restored afterwards
+    public void replaceWorstIndividuals(List<Individual> immigrants) {
+        evaluationCount += admitImmigrants(immigrants);
+    }
+
+    //Returns the number of immigrants evaluated, runGeneration counts them with the rest of the generation
+    private int admitImmigrants(List<Individual> immigrants) {
+        int count = Math.min(immigrants.size(), population.size());
+        population.subList(population.size() - count, population.size()).clear();
+        for(Individual immigrant : immigrants.subList(0, count)) {
+            evaluate(immigrant);
+            population.add(immigrant);
+        }
+        population.sort(Comparator.comparingDouble(Individual::getFitness).reversed());
+        return count;
+    }
+
+    //Islands already run one population per core, nested parallel ranking only adds contention there
+    public void setParallelRanking(boolean parallelRanking) {
+        this.parallelRanking = parallelRanking;
+    }
+
+    /*
+        Offspring are bred by this many workers, each drawing from its own random stream split from the population's.
+        A given seed and thread count always breeds the same offspring.
+     */
+    public void setBreedingThreads(int breedingThreads) {
+        if(breedingThreads < 1) {
+            throw new IllegalArgumentException("At least one breeding thread is required");
+        }
+        this.breedingThreads = breedingThreads;
+    }
+
+    /*
+        Pipelined generations: breeding workers hand every child through a bounded queue to evaluation workers as
+        soon as it is bred, and these rank it into the next population right away, instead of breeding everything,
+        then evaluating everything, then sorting. breedingThreads is split between the two stages.
+        Children arrive in a different order every run, so pipelined runs are not reproducible from the seed.
+     */
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    public void setSelectionStrategy(SelectionStrategy selectionStrategy) {
+        this.selectionStrategy = selectionStrategy;
+    }
+
+    public void setSoftMaxTemperature(double softMaxTemperature) {
+        if(softMaxTemperature <= 0) {
+            throw new IllegalArgumentException("The softmax temperature must be positive");
+        }
+        this.softMaxTemperature = softMaxTemperature;
+    }
+
+    //Optional, null evaluates every new individual
+    public void setFitnessCache(FitnessCache fitnessCache) {
+        this.fitnessCache = fitnessCache;
+    }
+
+    public FitnessCache getFitnessCache() {
+        return fitnessCache;
+    }
+
+    /*
+        Double buffering: culled individuals are kept and the next offspring are bred into them in place, reusing
+        their chromosomes and fitness state buffers, so a generation no longer allocates individuals.
+        Individuals returned by getBestIndividual may then be overwritten once they are culled, copy them to keep them.
+     */
+    public void setRecycleIndividuals(boolean recycleIndividuals) {
+        this.recycleIndividuals = recycleIndividuals;
+        if(!recycleIndividuals) {
+            spares = new Individual[0];
+            spareCount = 0;
+            offspringBuffer = new Individual[0];
+        }
+    }
+
+    public void setMutationRate(double mutationRate) {
+        if(mutationRate <= 0 || mutationRate > 0.5) {
+            throw new IllegalArgumentException("The mutation rate must be in (0, 0.5]");
+        }
+        this.mutationRate = mutationRate;
+        this.breedingMutationRate = mutationRate;
+    }
+
+    //Optional, null neither suppresses duplicates nor reacts to low diversity
+    public void setDiversityPolicy(DiversityPolicy diversityPolicy) {
+        this.diversityPolicy = diversityPolicy;
+        this.breedingMutationRate = mutationRate;
+    }
+
+    //Offspring that had to be changed because they copied a schedule already in the population
+    public long getDuplicatesSuppressed() {
+        return duplicatesSuppressed;
+    }
+
+    //Mean normalised entropy of the gene values, 0 when all individuals agree
+    public double getGeneEntropy() {
+        return GeneEntropy.of(population);
+    }
+
+    //Optional memetic stage run on the fittest individuals after ranking, null disables it
+    public void setLocalSearch(LocalSearch localSearch) {
+        this.localSearch = localSearch;
+    }
+
+    List<Individual> individuals() {
+        return population;
+    }
+
+    /*
+        SplittableRandom cannot expose its state, so a checkpoint reseeds the population from its own stream and
+        stores that seed. A run that is resumed from the checkpoint continues with exactly the same random numbers.
+     */
+    long reseed() {
+        long seed = random.nextLong();
+        random = new SplittableRandom(seed);
+        return seed;
+    }
+
+    public int getGenerationCount() {
+        return generationCount;
+    }
+
+    //Individuals evaluated and local search moves scored by runGeneration since the population was created or restored
+    public long getEvaluationCount() {
+        return evaluationCount;
+    }
+
     private void reproduceHalfPopulation() {
         assignChromosomesMatingProbabilities();
-        Picker<Individual> picker = new Picker<>(population);
+        Selector<Individual> selector = selectionStrategy.selectorFor(population);
+
+        int pairCount = (population.size() + 1) / 2;
+        int workers = Math.min(breedingThreads, pairCount);
+        SplittableRandom[] streams = new SplittableRandom[workers];
+        for(int worker = 0; worker < workers; worker++) {
+            streams[worker] = random.split();
+        }
+
+        double rate = breedingMutationRate;
+        Individual[] offspring = recycleIndividuals ? recycledOffspring(pairCount * 2) : new Individual[pairCount * 2];
+        IntStream workerIndices = IntStream.range(0, workers);
+        if(workers > 1) {
+            workerIndices = workerIndices.parallel();
+        }
+        workerIndices.forEach(worker -> {
+            SplittableRandom stream = streams[worker];
+            int end = (int) ((long) pairCount * (worker + 1) / workers);
+            for(int pair = (int) ((long) pairCount * worker / workers); pair < end; pair++) {
+                Individual individual1 = selector.select(stream);
+                Individual individual2 = selector.select(stream);
+
+                if(recycleIndividuals) {
+                    individual1.crossoverInto(individual2, stream, offspring[pair * 2], offspring[pair * 2 + 1]);
+                    offspring[pair * 2].attemptMutation(rate, stream);
+                    offspring[pair * 2 + 1].attemptMutation(rate, stream);
+                    continue;
+                }
+                List<Individual> children = individual1.crossoverWith(individual2, stream);
+                for(int child = 0; child < 2; child++) {
+                    children.get(child).attemptMutation(rate, stream);
+                    offspring[pair * 2 + child] = children.get(child);
+                }
+            }
+        });
+        if(recycleIndividuals) {
+            for(int extra = population.size(); extra < pairCount * 2; extra++) {
+                keepSpare(offspring[extra]);
+            }
+        }
+        List<Individual> children = Arrays.asList(offspring).subList(0, population.size());
+        if(diversityPolicy != null && diversityPolicy.suppressDuplicates()) {
+            suppressDuplicates(children);
+        }
+        population.addAll(children);
+    }
+
+    private void breedAndRankPipelined() {
+        assignChromosomesMatingProbabilities();
+        Selector<Individual> selector = selectionStrategy.selectorFor(population);
 
-        int targetPopulation = population.size() * 2;
-        while(population.size() != targetPopulation) {
-            picker.reset();
-            Individual individual1 = picker.pick(0);
-            Individual individual2 = picker.pick(1);
+        int survivorCount = population.size();
+        int childCount = survivorCount;
+        int pairCount = (childCount + 1) / 2;
+        int breeders = Math.min(Math.max(1, breedingThreads / 2), pairCount);
+        int evaluators = Math.max(1, breedingThreads - breeders);
+        SplittableRandom[] streams = new SplittableRandom[breeders];
+        for(int breeder = 0; breeder < breeders; breeder++) {
+            streams[breeder] = random.split();
+        }
 
-            List<Individual> offspring = individual1.crossoverWith(individual2);
+        double rate = breedingMutationRate;
+        Individual[] offspring = recycleIndividuals ? recycledOffspring(pairCount * 2) : new Individual[pairCount * 2];
+        boolean suppressDuplicates = diversityPolicy != null && diversityPolicy.suppressDuplicates();
+        if(suppressDuplicates) {
+            offspringHashes.clear(childCount * 2);
+            for(Individual individual : population) {
+                offspringHashes.add(individual.chromosome().zobristHash());
+            }
+        }
+        /*
+            Only the half the next cull keeps is ranked under the lock, the rest is turned away by the threshold once
+            that half is full and collected without locking by each evaluator, to be sorted behind it at the end.
+         */
+        ConcurrentTopK ranking = new ConcurrentTopK((survivorCount + childCount) / 2);
+        List<List<Individual>> rest = new ArrayList<>(evaluators + 1);
+        for(int list = 0; list <= evaluators; list++) {
+            rest.add(new ArrayList<>());
+        }
+        for(Individual survivor : population) {
+            Individual dropped = ranking.offer(survivor);
+            if(dropped != null) {
+                rest.get(evaluators).add(dropped);
+            }
+        }
 
-            offspring.forEach(Individual::attemptMutation);
-            population.addAll(offspring);
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(GeneticConstants.PIPELINE_QUEUE_SIZE);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean aborted = new AtomicBoolean();
+        CountDownLatch breedersDone = new CountDownLatch(breeders);
+        CountDownLatch evaluatorsDone = new CountDownLatch(evaluators);
+        for(int breeder = 0; breeder < breeders; breeder++) {
+            SplittableRandom stream = streams[breeder];
+            int first = (int) ((long) pairCount * breeder / breeders);
+            int end = (int) ((long) pairCount * (breeder + 1) / breeders);
+            PIPELINE_EXECUTOR.execute(() -> {
+                try {
+                    for(int pair = first; pair < end && !aborted.get(); pair++) {
+                        Individual individual1 = selector.select(stream);
+                        Individual individual2 = selector.select(stream);
+                        if(recycleIndividuals) {
+                            individual1.crossoverInto(individual2, stream, offspring[pair * 2], offspring[pair * 2 + 1]);
+                        } else {
+                            List<Individual> children = individual1.crossoverWith(individual2, stream);
+                            offspring[pair * 2] = children.get(0);
+                            offspring[pair * 2 + 1] = children.get(1);
+                        }
+                        for(int child = pair * 2; child < pair * 2 + 2 && child < childCount; child++) {
+                            offspring[child].attemptMutation(rate, stream);
+                            if(suppressDuplicates) {
+                                offspring[child] = claimUnique(offspring[child], stream);
+                            }
+                            //Timed so that an aborted generation never leaves a breeder waiting for evaluators
+                            while(!queue.offer(offspring[child], PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                                if(aborted.get()) {
+                                    return;
+                                }
+                            }
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    breedersDone.countDown();
+                }
+            });
+        }
+        for(int evaluator = 0; evaluator < evaluators; evaluator++) {
+            List<Individual> evaluatorRest = rest.get(evaluator);
+            PIPELINE_EXECUTOR.execute(() -> {
+                try {
+                    while(true) {
+                        Object next = queue.poll(PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                        if(next == END_OF_OFFSPRING || (next == null && aborted.get())) {
+                            break;
+                        }
+                        if(next == null) {
+                            continue;
+                        }
+                        Individual child = (Individual) next;
+                        try {
+                            evaluate(child);
+                            Individual dropped = ranking.offer(child);
+                            if(dropped != null) {
+                                evaluatorRest.add(dropped);
+                            }
+                        } catch (Throwable t) {
+                            failure.compareAndSet(null, t); //keep draining so no breeder waits on a full queue
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    evaluatorsDone.countDown();
+                }
+            });
+        }
 
+        boolean interrupted = false;
+        try {
+            breedersDone.await();
+            for(int evaluator = 0; evaluator < evaluators; evaluator++) {
+                queue.put(END_OF_OFFSPRING);
+            }
+            evaluatorsDone.await();
+        } catch (InterruptedException e) {
+            interrupted = true;
+            aborted.set(true);
+            queue.clear();
+            awaitUninterruptibly(breedersDone);
+            awaitUninterruptibly(evaluatorsDone);
+            queue.clear();
+        }
+        if(recycleIndividuals) {
+            for(int extra = childCount; extra < pairCount * 2; extra++) {
+                keepSpare(offspring[extra]);
+            }
+        }
+
+        //Everything in the ranking is at least as fit as everything turned away, so only the rest needs sorting
+        population.clear();
+        ranking.drainTo(population);
+        int ranked = population.size();
+        for(List<Individual> evaluatorRest : rest) {
+            population.addAll(evaluatorRest);
+        }
+        //Children lost to a failure are replaced by random schedules, so a failed generation never shrinks the population
+        ScheduleProblem problem = population.get(0).chromosome().problem();
+        while(population.size() < survivorCount + childCount) {
+            Individual immigrant = new Individual(Chromosome.random(problem, random));
+            evaluate(immigrant);
+            population.add(immigrant);
+        }
+        boolean failed = interrupted || failure.get() != null;
+        population.subList(failed ? 0 : ranked, population.size()).sort(Comparator.comparingDouble(Individual::getFitness).reversed());
+
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while breeding a generation");
+        }
+        if(failure.get() != null) {
+            throw new IllegalStateException("Breeding a generation failed", failure.get());
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while(true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //The pipelined counterpart of suppressDuplicates, children claim their hash as they are bred
+    private Individual claimUnique(Individual child, SplittableRandom stream) {
+        for(int retry = 0; ; retry++) {
+            synchronized (offspringHashes) {
+                if(offspringHashes.add(child.chromosome().zobristHash())) {
+                    return child;
+                }
+                if(retry == 0) {
+                    duplicatesSuppressed++;
+                }
+                if(retry == GeneticConstants.DUPLICATE_RETRIES) {
+                    Individual replacement = new Individual(Chromosome.random(child.chromosome().problem(), stream));
+                    offspringHashes.add(replacement.chromosome().zobristHash());
+                    return replacement;
+                }
+            }
+            child.mutateRandomField(stream);
         }
     }
 
     private void rankInitialPopulation() {
-        population.parallelStream().forEach(Individual::calculateFitness);
+        evaluate(population);
         population.sort(Comparator.comparingDouble(Individual::getFitness).reversed());
     }
     private void rankPopulation() {
-        population.subList(population.size() / 2, population.size())
-                .parallelStream()
-                .forEach(Individual::calculateFitness);
+        evaluate(population.subList(population.size() / 2, population.size()));
         population.sort(Comparator.comparingDouble(Individual::getFitness).reversed());
     }
 
+    //Returns the number of moves the local search scored
+    private int improveElites() {
+        int eliteCount = Math.min(localSearch.getEliteCount(), population.size());
+        SplittableRandom[] streams = new SplittableRandom[eliteCount];
+        for(int i = 0; i < eliteCount; i++) {
+            streams[i] = random.split();
+        }
+        IntStream elites = IntStream.range(0, eliteCount);
+        if(parallelRanking) {
+            elites = elites.parallel();
+        }
+        int evaluations = elites.map(i -> localSearch.improve(population.get(i), streams[i])).sum();
+        population.sort(Comparator.comparingDouble(Individual::getFitness).reversed());
+        return evaluations;
+    }
+
+    private void evaluate(List<Individual> individuals) {
+        if(parallelRanking) {
+            individuals.parallelStream().forEach(this::evaluate);
+        } else {
+            individuals.forEach(this::evaluate);
+        }
+    }
+
+    private void evaluate(Individual individual) {
+        if(fitnessCache == null) {
+            individual.calculateFitness();
+        } else {
+            individual.calculateFitness(fitnessCache);
+        }
+    }
+
     private void cullHalfPopulation() {
         int cutoffIndex = population.size() / 2;
+        if(recycleIndividuals) {
+            for(int i = cutoffIndex; i < population.size(); i++) {
+                keepSpare(population.get(i));
+            }
+        }
         population.subList(cutoffIndex, population.size()).clear();
     }
 
+    private void keepSpare(Individual individual) {
+        if(spareCount == spares.length) {
+            spares = Arrays.copyOf(spares, Math.max(16, spareCount * 2));
+        }
+        spares[spareCount++] = individual;
+    }
+
+    //Offspring slots filled with spares, only allocating when there are not enough of them yet
+    private Individual[] recycledOffspring(int count) {
+        if(offspringBuffer.length < count) {
+            offspringBuffer = new Individual[count];
+        }
+        for(int i = 0; i < count; i++) {
+            if(spareCount > 0) {
+                offspringBuffer[i] = spares[--spareCount];
+                spares[spareCount] = null;
+            } else {
+                offspringBuffer[i] = new Individual(population.get(0).chromosome().copy());
+            }
+        }
+        return offspringBuffer;
+    }
+
     private void assignChromosomesMatingProbabilities() {
-        List<Double> normalizedFitnessScores = SoftMax.calculateSoftMax(
-                population.stream().map(Individual::getFitness).toList()
-        );
+        int size = population.size();
+        if(matingProbabilities.length < size) {
+            matingProbabilities = new double[size];
+        }
+        for(int i = 0; i < size; i++) {
+            matingProbabilities[i] = population.get(i).getFitness();
+        }
+        SoftMax.calculateSoftMax(matingProbabilities, size, softMaxTemperature, matingProbabilities);
 
-        for(int i = 0; i < normalizedFitnessScores.size(); i++) {
-            population.get(i).setMatingProbability(normalizedFitnessScores.get(i));
+        for(int i = 0; i < size; i++) {
+            population.get(i).setMatingProbability(matingProbabilities[i]);
         }
     }
 
-    private void generateInitialPopulation() {
-        for(int i = 0; i < GeneticConstants.POP_SIZE; i++) {
-            List<GeneticInformation> geneticInformationList = new ArrayList<>();
-            for(Activity activity : ScheduleConstants.ACTIVITIES) {
-                geneticInformationList.add(GeneticUtils.createRandomGene(activity));
-            }
-            population.add(new Individual(geneticInformationList));
+    private void generateInitialPopulation(ScheduleProblem problem, int size) {
+        for(int i = 0; i < size; i++) {
+            population.add(new Individual(Chromosome.random(problem, random)));
         }
     }
 
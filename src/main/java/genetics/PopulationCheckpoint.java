@@ -0,0 +1,166 @@
+package genetics;
+
+import schedule.Constraint;
+import schedule.ScheduleProblem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/*
+    Binary snapshot of a population written through a memory mapped file:
+
+    int magic, int version, int generation, long seed,
+    int activities, int rooms, int times, int facilitators, long problem fingerprint,
+    int individuals, then per individual: double fitness, int packed gene per activity
+
+    The fingerprint hashes everything that affects the genes' meaning or the stored fitness: names, enrollments,
+    facilitator preferences, capacities, hours and the constraints. A checkpoint of another problem of the same shape
+    is rejected instead of resuming with the wrong schedules.
+
+    The file is written next to the target and moved over it, so a crash never leaves a half written checkpoint.
+    Settings such as the fitness cache, selection strategy and listeners are not part of the checkpoint.
+ */
+public final class PopulationCheckpoint {
+
+    private static final int MAGIC = 0x47414350; //"GACP"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES + 4 * Integer.BYTES + Long.BYTES;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private PopulationCheckpoint() {
+    }
+
+    public static void write(Population population, Path path) throws IOException {
+        List<Individual> individuals = population.individuals();
+        int geneCount = individuals.get(0).chromosome().length();
+        long size = HEADER_BYTES + (long) individuals.size() * (Double.BYTES + (long) geneCount * Integer.BYTES);
+        ScheduleProblem problem = individuals.get(0).chromosome().problem();
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(population.getGenerationCount())
+                    .putLong(population.reseed())
+                    .putInt(problem.activityCount())
+                    .putInt(problem.roomCount())
+                    .putInt(problem.timeCount())
+                    .putInt(problem.facilitatorCount())
+                    .putLong(fingerprint(problem))
+                    .putInt(individuals.size());
+            for(Individual individual : individuals) {
+                buffer.putDouble(individual.getFitness());
+                Chromosome chromosome = individual.chromosome();
+                for(int gene = 0; gene < geneCount; gene++) {
+                    buffer.putInt(chromosome.packedGene(gene));
+                }
+            }
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Population read(Path path, ScheduleProblem problem) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(channel.size() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException(path + " is not a population checkpoint");
+            }
+            int version = buffer.getInt();
+            if(version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version);
+            }
+            int generationCount = buffer.getInt();
+            long seed = buffer.getLong();
+            if(buffer.getInt() != problem.activityCount()
+                    || buffer.getInt() != problem.roomCount()
+                    || buffer.getInt() != problem.timeCount()
+                    || buffer.getInt() != problem.facilitatorCount()
+                    || buffer.getLong() != fingerprint(problem)) {
+                throw new IOException("The checkpoint was written for a different problem");
+            }
+            int individualCount = buffer.getInt();
+            long expectedSize = HEADER_BYTES + (long) individualCount * (Double.BYTES + (long) problem.activityCount() * Integer.BYTES);
+            if(individualCount < 2 || individualCount % 2 != 0 || channel.size() != expectedSize) {
+                throw new IOException(path + " is truncated or corrupt");
+            }
+
+            List<Individual> individuals = new ArrayList<>(individualCount);
+            for(int i = 0; i < individualCount; i++) {
+                double fitness = buffer.getDouble();
+                int[] genes = new int[problem.activityCount()];
+                buffer.asIntBuffer().get(genes);
+                buffer.position(buffer.position() + genes.length * Integer.BYTES);
+                Individual individual = new Individual(Chromosome.fromPackedGenes(problem, genes));
+                individual.restoreFitness(fitness);
+                individuals.add(individual);
+            }
+            return new Population(individuals, generationCount, new SplittableRandom(seed));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(path + " does not match the problem", e);
+        }
+    }
+
+    //FNV-1a over the problem definition, stable across JVMs unlike the hash codes of the records
+    static long fingerprint(ScheduleProblem problem) {
+        long hash = FNV_OFFSET;
+        for(int activity = 0; activity < problem.activityCount(); activity++) {
+            hash = mix(hash, problem.activity(activity).name());
+            hash = mix(hash, problem.enrollment(activity));
+            hash = mix(hash, problem.activity(activity).preferredFacilitators());
+            hash = mix(hash, problem.activity(activity).otherFacilitators());
+        }
+        for(int room = 0; room < problem.roomCount(); room++) {
+            hash = mix(hash, problem.room(room).name());
+            hash = mix(hash, problem.capacity(room));
+        }
+        for(int time = 0; time < problem.timeCount(); time++) {
+            hash = mix(hash, problem.hour(time));
+        }
+        for(int facilitator = 0; facilitator < problem.facilitatorCount(); facilitator++) {
+            hash = mix(hash, problem.facilitator(facilitator));
+        }
+        for(Constraint constraint : problem.constraints()) {
+            hash = mix(hash, constraint.getClass().getSimpleName());
+            hash = mix(hash, constraint.activityNames());
+        }
+        hash = mix(hash, problem.distantRooms());
+        return mix(hash, problem.loadExemptFacilitators());
+    }
+
+    private static long mix(long hash, long value) {
+        for(int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ (value >>> shift & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        hash = mix(hash, value.length());
+        for(int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, List<String> values) {
+        hash = mix(hash, values.size());
+        for(String value : values) {
+            hash = mix(hash, value);
+        }
+        return hash;
+    }
+}
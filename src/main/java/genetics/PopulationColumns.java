@@ -0,0 +1,88 @@
+package genetics;
+
+import schedule.ScheduleProblem;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+    Struct of arrays view of many chromosomes of one problem. Each column is gene major: the room of gene g of
+    individual i is at g * stride + i, so one gene of consecutive individuals is contiguous and can be loaded into
+    vector lanes. stride is the capacity rounded up to a multiple of 16, unused lanes hold index 0.
+ */
+public final class PopulationColumns {
+
+    private final ScheduleProblem problem;
+    private final int capacity;
+    private final int stride;
+    final int[] rooms;
+    final int[] times;
+    final int[] facilitators;
+    private int size;
+
+    public PopulationColumns(ScheduleProblem problem, int capacity) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("The columns need room for at least one individual");
+        }
+        this.problem = problem;
+        this.capacity = capacity;
+        this.stride = (capacity + 15) & ~15;
+        this.rooms = new int[problem.activityCount() * stride];
+        this.times = new int[problem.activityCount() * stride];
+        this.facilitators = new int[problem.activityCount() * stride];
+    }
+
+    //Replaces the contents with the given individuals, in order
+    public void load(List<Individual> individuals) {
+        if(individuals.size() > capacity) {
+            throw new IllegalArgumentException("The columns hold at most " + capacity + " individuals");
+        }
+        for(int i = 0; i < individuals.size(); i++) {
+            set(i, individuals.get(i).chromosome());
+        }
+        //Lanes of a previous, larger load go back to index 0
+        for(int gene = 0; gene < geneCount(); gene++) {
+            int row = gene * stride;
+            Arrays.fill(rooms, row + individuals.size(), row + size, 0);
+            Arrays.fill(times, row + individuals.size(), row + size, 0);
+            Arrays.fill(facilitators, row + individuals.size(), row + size, 0);
+        }
+        size = individuals.size();
+    }
+
+    public void set(int individual, Chromosome chromosome) {
+        if(individual < 0 || individual >= capacity) {
+            throw new IllegalArgumentException("Individual " + individual + " is outside the capacity of " + capacity);
+        }
+        if(chromosome.problem() != problem) {
+            throw new IllegalArgumentException("The chromosome belongs to another problem");
+        }
+        for(int gene = 0; gene < chromosome.length(); gene++) {
+            int index = gene * stride + individual;
+            rooms[index] = chromosome.room(gene);
+            times[index] = chromosome.time(gene);
+            facilitators[index] = chromosome.facilitator(gene);
+        }
+        size = Math.max(size, individual + 1);
+    }
+
+    public ScheduleProblem problem() {
+        return problem;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    int stride() {
+        return stride;
+    }
+
+    int geneCount() {
+        return problem.activityCount();
+    }
+}
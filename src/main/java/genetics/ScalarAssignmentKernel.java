@@ -0,0 +1,27 @@
+package genetics;
+
+import java.util.Arrays;
+
+final class ScalarAssignmentKernel implements AssignmentKernel {
+
+    @Override
+    public void score(PopulationColumns columns, AssignmentTables tables, long[] totals) {
+        score(columns, tables, totals, 0);
+    }
+
+    //Scores individuals from start on, the vector kernel hands over its tail here
+    static void score(PopulationColumns columns, AssignmentTables tables, long[] totals, int start) {
+        int size = columns.size();
+        int stride = columns.stride();
+        Arrays.fill(totals, start, size, 0);
+        for(int gene = 0; gene < columns.geneCount(); gene++) {
+            int roomRow = gene * tables.roomCount;
+            int facilitatorRow = gene * tables.facilitatorCount;
+            int column = gene * stride;
+            for(int individual = start; individual < size; individual++) {
+                totals[individual] += tables.roomSizeScores[roomRow + columns.rooms[column + individual]]
+                        + tables.preferenceScores[facilitatorRow + columns.facilitators[column + individual]];
+            }
+        }
+    }
+}
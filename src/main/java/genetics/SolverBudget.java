@@ -0,0 +1,41 @@
+package genetics;
+
+import java.time.Duration;
+
+/*
+    Limits of one AnytimeSolver run, whichever is hit first ends it.
+    timeLimit: wall-clock time from the start of solve.
+    maxEvaluations: individuals evaluated and local search moves scored during the run, Long.MAX_VALUE for no limit.
+    A generation is not started when the previous one evaluated more than what is left, which keeps a run within the
+    limit as long as generations evaluate about the same number of individuals. The first generation of a never
+    ranked population always runs and evaluates one and a half times the population size plus its local search
+    moves, even past a smaller limit.
+    targetFitness: stop as soon as the best individual scores at least this, positive infinity for no target.
+ */
+public record SolverBudget(Duration timeLimit, long maxEvaluations, double targetFitness) {
+
+    public SolverBudget {
+        if(timeLimit == null || timeLimit.isNegative() || timeLimit.isZero()) {
+            throw new IllegalArgumentException("The time limit must be positive");
+        }
+        if(maxEvaluations < 1) {
+            throw new IllegalArgumentException("At least one evaluation must be allowed");
+        }
+        if(Double.isNaN(targetFitness)) {
+            throw new IllegalArgumentException("The target fitness must be a number");
+        }
+    }
+
+    //Only bounded by time
+    public static SolverBudget of(Duration timeLimit) {
+        return new SolverBudget(timeLimit, Long.MAX_VALUE, Double.POSITIVE_INFINITY);
+    }
+
+    public SolverBudget withMaxEvaluations(long maxEvaluations) {
+        return new SolverBudget(timeLimit, maxEvaluations, targetFitness);
+    }
+
+    public SolverBudget withTargetFitness(double targetFitness) {
+        return new SolverBudget(timeLimit, maxEvaluations, targetFitness);
+    }
+}
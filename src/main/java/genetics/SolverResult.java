@@ -0,0 +1,15 @@
+package genetics;
+
+import java.time.Duration;
+
+//Outcome of an AnytimeSolver run, best is a copy that the population no longer touches, or null when the run was
+//cancelled before the population was ever ranked
+public record SolverResult(Individual best, StopReason stopReason, int generations, long evaluations, Duration elapsed) {
+
+    public enum StopReason {
+        TARGET_REACHED,
+        TIME_LIMIT,
+        EVALUATION_LIMIT,
+        CANCELLED
+    }
+}
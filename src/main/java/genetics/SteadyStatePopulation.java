@@ -0,0 +1,366 @@
+package genetics;
+
+import genetics.math.SelectionStrategy;
+import genetics.metrics.GenerationListener;
+import genetics.metrics.GenerationMetrics;
+import schedule.ScheduleProblem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+    Steady-state alternative to Population: instead of replacing half of the population every generation, each
+    step breeds a small batch of offspring and every child takes the place of the current worst individual if it
+    is fitter. Members live in fixed slots for O(1) random access by the tournament and in a tree ordered by
+    fitness, so finding the worst and re-inserting is O(log n) instead of a full sort.
+    Listeners are notified and the diversity policy is applied once per generation equivalent, i.e. every size / 2
+    offspring. With duplicate suppression a child that copies a member is dropped before it is evaluated.
+ */
+public class SteadyStatePopulation {
+
+    //Ties on fitness are broken by insertion order, so distinct members never compare equal
+    private record Member(Individual individual, int slot, long sequence) {
+    }
+
+    private static final Comparator<Member> BY_FITNESS = Comparator
+            .comparingDouble((Member member) -> member.individual().getFitness())
+            .thenComparingLong(Member::sequence);
+
+    private final Member[] slots;
+    private final TreeSet<Member> ranking = new TreeSet<>(BY_FITNESS);
+    private final SplittableRandom random;
+    private final List<GenerationListener> generationListeners = new CopyOnWriteArrayList<>();
+    private int batchSize = 2;
+    private double fitnessTotal;
+    private long sequence;
+    private long evaluations;
+    private long offspring;
+    private long replacements;
+    private FitnessCache fitnessCache;
+    private long epochStart = System.nanoTime();
+    private long epochCacheHits; //cache counters when the epoch started, the hit rate is reported per epoch
+    private long epochCacheMisses;
+    private DiversityPolicy diversityPolicy;
+    private final Map<Long, Integer> memberHashes = new HashMap<>();
+    private double mutationRate = GeneticConstants.M_RATE;
+    private double breedingMutationRate = GeneticConstants.M_RATE;
+    private long duplicatesSuppressed;
+    private boolean recycleIndividuals;
+    private final ArrayDeque<Individual> spares = new ArrayDeque<>(); //rejected children and replaced members
+
+    public SteadyStatePopulation(ScheduleProblem problem, int size, SplittableRandom random) {
+        if(size < 2) {
+            throw new IllegalArgumentException("A population needs at least 2 individuals");
+        }
+        this.random = random;
+        this.slots = new Member[size];
+        for(int slot = 0; slot < size; slot++) {
+            Individual individual = new Individual(Chromosome.random(problem, random));
+            evaluate(individual);
+            place(individual, slot);
+        }
+    }
+
+    public SteadyStatePopulation(SplittableRandom random) {
+        this(ScheduleProblem.DEFAULT, GeneticConstants.POP_SIZE, random);
+    }
+
+    //Offspring bred per step, rounded up to whole pairs
+    public void setBatchSize(int batchSize) {
+        if(batchSize < 1) {
+            throw new IllegalArgumentException("At least one child has to be bred per step");
+        }
+        this.batchSize = batchSize;
+    }
+
+    //Optional, null evaluates every new individual
+    public void setFitnessCache(FitnessCache fitnessCache) {
+        this.fitnessCache = fitnessCache;
+        epochCacheHits = fitnessCache == null ? 0 : fitnessCache.getHits();
+        epochCacheMisses = fitnessCache == null ? 0 : fitnessCache.getMisses();
+    }
+
+    public void addGenerationListener(GenerationListener generationListener) {
+        generationListeners.add(generationListener);
+    }
+
+    public void removeGenerationListener(GenerationListener generationListener) {
+        generationListeners.remove(generationListener);
+    }
+
+    //Breeds one batch and returns how many children made it into the population
+    public int step() {
+        int accepted = 0;
+        for(int pair = 0; pair < (batchSize + 1) / 2; pair++) {
+            Individual parent1 = select();
+            Individual parent2 = select();
+            List<Individual> children;
+            if(recycleIndividuals) {
+                Individual child1 = spare(parent1);
+                Individual child2 = spare(parent1);
+                parent1.crossoverInto(parent2, random, child1, child2);
+                children = List.of(child1, child2);
+            } else {
+                children = parent1.crossoverWith(parent2, random);
+            }
+            for(Individual child : children) {
+                child.attemptMutation(breedingMutationRate, random);
+                if(diversityPolicy != null && diversityPolicy.suppressDuplicates()
+                        && memberHashes.containsKey(child.chromosome().zobristHash())) {
+                    duplicatesSuppressed++;
+                    release(child);
+                } else {
+                    evaluate(child);
+                    if(replaceWorst(child)) {
+                        accepted++;
+                    } else {
+                        release(child);
+                    }
+                }
+                offspring++;
+                if(offspring % (slots.length / 2) == 0) {
+                    endEpoch();
+                }
+            }
+        }
+        replacements += accepted;
+        return accepted;
+    }
+
+    public void runSteps(int steps) {
+        for(int i = 0; i < steps; i++) {
+            step();
+        }
+    }
+
+    //Keeps stepping until at least count more offspring have been bred
+    public void runOffspring(long count) {
+        long target = offspring + count;
+        while(offspring < target) {
+            step();
+        }
+    }
+
+    private Individual select() {
+        Member winner = slots[random.nextInt(slots.length)];
+        for(int round = 1; round < SelectionStrategy.TOURNAMENT_SIZE; round++) {
+            Member challenger = slots[random.nextInt(slots.length)];
+            if(challenger.individual().getFitness() > winner.individual().getFitness()) {
+                winner = challenger;
+            }
+        }
+        return winner.individual();
+    }
+
+    private boolean replaceWorst(Individual child) {
+        if(child.getFitness() <= ranking.first().individual().getFitness()) {
+            return false;
+        }
+        Member worst = removeWorst();
+        place(child, worst.slot());
+        release(worst.individual());
+        return true;
+    }
+
+    private Individual spare(Individual template) {
+        Individual spare = spares.pollFirst();
+        return spare != null ? spare : new Individual(template.chromosome().copy());
+    }
+
+    private void release(Individual individual) {
+        if(recycleIndividuals) {
+            spares.addFirst(individual);
+        }
+    }
+
+    private Member removeWorst() {
+        Member worst = ranking.pollFirst();
+        fitnessTotal -= worst.individual().getFitness();
+        memberHashes.computeIfPresent(worst.individual().chromosome().zobristHash(), (hash, count) -> count == 1 ? null : count - 1);
+        return worst;
+    }
+
+    private void place(Individual individual, int slot) {
+        Member member = new Member(individual, slot, sequence++);
+        slots[slot] = member;
+        ranking.add(member);
+        fitnessTotal += individual.getFitness();
+        memberHashes.merge(individual.chromosome().zobristHash(), 1, Integer::sum);
+    }
+
+    private void endEpoch() {
+        double geneEntropy = Double.NaN;
+        if(diversityPolicy != null && diversityPolicy.response() != DiversityPolicy.Response.NONE) {
+            geneEntropy = getGeneEntropy();
+            respondToDiversity(geneEntropy);
+        }
+        long now = System.nanoTime();
+        notifyListeners(now - epochStart, geneEntropy);
+        epochStart = now;
+        if(fitnessCache != null) {
+            epochCacheHits = fitnessCache.getHits();
+            epochCacheMisses = fitnessCache.getMisses();
+        }
+    }
+
+    private void respondToDiversity(double geneEntropy) {
+        boolean low = geneEntropy < diversityPolicy.entropyThreshold();
+        switch (diversityPolicy.response()) {
+            case RAISE_MUTATION_RATE -> breedingMutationRate = low
+                    ? Math.max(mutationRate, diversityPolicy.boostedMutationRate())
+                    : mutationRate;
+            case RANDOM_IMMIGRANTS -> {
+                if(low) {
+                    int count = Math.max(1, (int) Math.round(diversityPolicy.immigrantFraction() * slots.length));
+                    for(int i = 0; i < count; i++) {
+                        Individual immigrant = new Individual(Chromosome.random(slots[0].individual().chromosome().problem(), random));
+                        evaluate(immigrant);
+                        place(immigrant, removeWorst().slot());
+                    }
+                }
+            }
+            case NONE -> {
+            }
+        }
+    }
+
+    private void evaluate(Individual individual) {
+        if(fitnessCache == null) {
+            individual.calculateFitness();
+        } else {
+            individual.calculateFitness(fitnessCache);
+        }
+        evaluations++;
+    }
+
+    private void notifyListeners(long nanos, double geneEntropy) {
+        if(generationListeners.isEmpty()) {
+            return;
+        }
+        int evaluated = slots.length / 2;
+        GenerationMetrics metrics = new GenerationMetrics(
+                getGenerationCount(),
+                0,
+                nanos,
+                0,
+                evaluated,
+                evaluated / (nanos / 1e9),
+                getBestIndividual().getFitness(),
+                getAverageFitness(),
+                ranking.first().individual().getFitness(),
+                getDiversity(),
+                Double.isNaN(geneEntropy) ? getGeneEntropy() : geneEntropy,
+                fitnessCache == null ? Double.NaN : epochHitRate()
+        );
+        for(GenerationListener generationListener : generationListeners) {
+            generationListener.onGeneration(metrics);
+        }
+    }
+
+    private double epochHitRate() {
+        long hits = fitnessCache.getHits() - epochCacheHits;
+        long lookups = hits + fitnessCache.getMisses() - epochCacheMisses;
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+
+    /*
+        Rejected children and replaced members are kept and overwritten in place by later offspring, so a step no
+        longer allocates individuals. Individuals returned by getBestIndividual may then be overwritten once they
+        leave the population, copy them to keep them.
+     */
+    public void setRecycleIndividuals(boolean recycleIndividuals) {
+        this.recycleIndividuals = recycleIndividuals;
+        if(!recycleIndividuals) {
+            spares.clear();
+        }
+    }
+
+    public void setMutationRate(double mutationRate) {
+        if(mutationRate <= 0 || mutationRate > 0.5) {
+            throw new IllegalArgumentException("The mutation rate must be in (0, 0.5]");
+        }
+        this.mutationRate = mutationRate;
+        this.breedingMutationRate = mutationRate;
+    }
+
+    //Optional, null neither suppresses duplicates nor reacts to low diversity
+    public void setDiversityPolicy(DiversityPolicy diversityPolicy) {
+        this.diversityPolicy = diversityPolicy;
+        this.breedingMutationRate = mutationRate;
+    }
+
+    //Offspring that were dropped because they copied a member
+    public long getDuplicatesSuppressed() {
+        return duplicatesSuppressed;
+    }
+
+    //Fraction of members whose schedule is not an exact copy of another one
+    public double getDiversity() {
+        return (double) memberHashes.size() / slots.length;
+    }
+
+    public double getGeneEntropy() {
+        List<Individual> members = new ArrayList<>(slots.length);
+        for(Member member : slots) {
+            members.add(member.individual());
+        }
+        return GeneEntropy.of(members);
+    }
+
+    public Individual getBestIndividual() {
+        return ranking.last().individual();
+    }
+
+    //Copies of the count fittest individuals, best first
+    public List<Individual> getBestIndividuals(int count) {
+        List<Individual> best = new ArrayList<>(Math.min(count, slots.length));
+        for(Member member : ranking.descendingSet()) {
+            if(best.size() == count) {
+                break;
+            }
+            best.add(member.individual().copy());
+        }
+        return best;
+    }
+
+    public double getAverageFitness() {
+        return fitnessTotal / slots.length;
+    }
+
+    //Offspring bred so far divided by half the population size, comparable to Population's generation count
+    public int getGenerationCount() {
+        return (int) (offspring / (slots.length / 2));
+    }
+
+    public long getEvaluationCount() {
+        return evaluations;
+    }
+
+    public long getOffspringCount() {
+        return offspring;
+    }
+
+    public long getReplacementCount() {
+        return replacements;
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    public void printBestIndividualInformation() {
+        Individual best = getBestIndividual();
+        System.out.println("_______________________________________________________");
+        System.out.println("Best Individual after " + offspring + " offspring (generation " + getGenerationCount() + ")");
+        System.out.println(best);
+        System.out.println("Fitness Score: " + best.getFitness());
+        System.out.println("_______________________________________________________");
+    }
+}
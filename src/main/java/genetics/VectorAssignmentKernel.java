@@ -0,0 +1,48 @@
+package genetics;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+    One lane per individual: for every gene the room and facilitator columns of a block of individuals are loaded
+    as index vectors and their scores gathered from the tables. Lanes add up in ints for at most CHUNK_GENES genes
+    (a gene scores at most 0.8 points, so this cannot overflow) before they are widened into the long totals.
+    Only compiled by the vector profile and only loaded when the jdk.incubator.vector module is present, see
+    BatchEvaluator.
+ */
+final class VectorAssignmentKernel implements AssignmentKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int CHUNK_GENES = 2048;
+
+    private final int[] partial = new int[SPECIES.length()];
+
+    @Override
+    public void score(PopulationColumns columns, AssignmentTables tables, long[] totals) {
+        int size = columns.size();
+        int stride = columns.stride();
+        int geneCount = columns.geneCount();
+        int lanes = SPECIES.length();
+        int vectorEnd = SPECIES.loopBound(size);
+
+        for(int block = 0; block < vectorEnd; block += lanes) {
+            for(int lane = 0; lane < lanes; lane++) {
+                totals[block + lane] = 0;
+            }
+            for(int chunk = 0; chunk < geneCount; chunk += CHUNK_GENES) {
+                IntVector sum = IntVector.zero(SPECIES);
+                int chunkEnd = Math.min(geneCount, chunk + CHUNK_GENES);
+                for(int gene = chunk; gene < chunkEnd; gene++) {
+                    int column = gene * stride + block;
+                    sum = sum
+                            .add(IntVector.fromArray(SPECIES, tables.roomSizeScores, gene * tables.roomCount, columns.rooms, column))
+                            .add(IntVector.fromArray(SPECIES, tables.preferenceScores, gene * tables.facilitatorCount, columns.facilitators, column));
+                }
+                sum.intoArray(partial, 0);
+                for(int lane = 0; lane < lanes; lane++) {
+                    totals[block + lane] += partial[lane];
+                }
+            }
+        }
+        ScalarAssignmentKernel.score(columns, tables, totals, vectorEnd);
+    }
+}
@@ -0,0 +1,44 @@
+package genetics;
+
+import schedule.ScheduleProblem;
+
+import java.util.SplittableRandom;
+
+/*
+    Random 64 bit keys for every (activity, room), (activity, time) and (activity, facilitator) assignment.
+    The hash of a chromosome is the XOR of the keys of its assignments, so changing one field of one gene
+    updates the hash with two XORs.
+ */
+final class ZobristKeys {
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final int roomCount;
+    private final int timeCount;
+    private final int facilitatorCount;
+    private final long[] roomKeys;
+    private final long[] timeKeys;
+    private final long[] facilitatorKeys;
+
+    //Built once per problem by CompiledProblem
+    ZobristKeys(ScheduleProblem problem) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        roomCount = problem.roomCount();
+        timeCount = problem.timeCount();
+        facilitatorCount = problem.facilitatorCount();
+        roomKeys = random.longs((long) problem.activityCount() * roomCount).toArray();
+        timeKeys = random.longs((long) problem.activityCount() * timeCount).toArray();
+        facilitatorKeys = random.longs((long) problem.activityCount() * facilitatorCount).toArray();
+    }
+
+    long room(int gene, int room) {
+        return roomKeys[gene * roomCount + room];
+    }
+
+    long time(int gene, int time) {
+        return timeKeys[gene * timeCount + time];
+    }
+
+    long facilitator(int gene, int facilitator) {
+        return facilitatorKeys[gene * facilitatorCount + facilitator];
+    }
+}
@@ -0,0 +1,65 @@
+package genetics.math;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+//Walker's alias method (Vose's variant): O(n) to build, O(1) per selection
+public class AliasSelector<T extends ProbableSelection> implements Selector<T> {
+
+    private final List<T> values;
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    public AliasSelector(List<T> values) {
+        int size = values.size();
+        this.values = values;
+        this.probabilities = new double[size];
+        this.aliases = new int[size];
+
+        double total = 0;
+        double[] scaled = new double[size];
+        for (int i = 0; i < size; i++) {
+            scaled[i] = Math.max(0, values.get(i).calculateLikelyHood());
+            total += scaled[i];
+        }
+
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = total > 0 ? scaled[i] * size / total : 1;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        //whatever is left over is 1 up to rounding error
+        while (largeCount > 0) {
+            probabilities[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            probabilities[small[--smallCount]] = 1;
+        }
+    }
+
+    @Override
+    public T select(RandomGenerator random) {
+        int column = random.nextInt(probabilities.length);
+        return values.get(random.nextDouble() < probabilities[column] ? column : aliases[column]);
+    }
+}
@@ -2,16 +2,23 @@ package genetics.math;
 
 import java.util.List;
 import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class Picker<T extends ProbableSelection> {
 
     private int k;
     private final List<Double> selections;
     private final List<T> values;
-    private final static SplittableRandom random = new SplittableRandom();
+    private final static SplittableRandom sharedRandom = new SplittableRandom();
+    private final RandomGenerator random;
 
     public Picker(List<T> values) {
+        this(values, sharedRandom);
+    }
+
+    public Picker(List<T> values, RandomGenerator random) {
         k =0;
+        this.random = random;
         this.values = values;
         selections = values.stream()
                 .map(ProbableSelection::calculateLikelyHood)
@@ -0,0 +1,43 @@
+package genetics.math;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/*
+    Linear ranking: the chance to be selected depends on the rank of a value, not on how far its likelihood is
+    from the others. selectionPressure in [1, 2] is the expected number of selections of the best value per n draws.
+ */
+public class RankSelector<T extends ProbableSelection> implements Selector<T> {
+
+    private final List<T> values;
+    private final int[] valuesByRank;
+    private final double[] cumulativeWeights;
+
+    public RankSelector(List<T> values, double selectionPressure) {
+        if (selectionPressure < 1 || selectionPressure > 2) {
+            throw new IllegalArgumentException("The selection pressure must be between 1 and 2");
+        }
+        int size = values.size();
+        this.values = values;
+        this.valuesByRank = IntStream.range(0, size)
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> values.get(i).calculateLikelyHood()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.cumulativeWeights = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            double weight = size == 1 ? 1 : (2 - selectionPressure) + 2.0 * rank * (selectionPressure - 1) / (size - 1);
+            total += weight;
+            cumulativeWeights[rank] = total;
+        }
+    }
+
+    @Override
+    public T select(RandomGenerator random) {
+        double total = cumulativeWeights[cumulativeWeights.length - 1];
+        return values.get(valuesByRank[RouletteSelector.firstAbove(cumulativeWeights, random.nextDouble(total))]);
+    }
+}
@@ -0,0 +1,45 @@
+package genetics.math;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+//Fitness proportionate selection over a cumulative likelihood array, O(log n) per selection
+public class RouletteSelector<T extends ProbableSelection> implements Selector<T> {
+
+    private final List<T> values;
+    private final double[] cumulativeLikelihoods;
+
+    public RouletteSelector(List<T> values) {
+        this.values = values;
+        this.cumulativeLikelihoods = new double[values.size()];
+        double total = 0;
+        for (int i = 0; i < values.size(); i++) {
+            total += Math.max(0, values.get(i).calculateLikelyHood());
+            cumulativeLikelihoods[i] = total;
+        }
+    }
+
+    @Override
+    public T select(RandomGenerator random) {
+        double total = cumulativeLikelihoods[cumulativeLikelihoods.length - 1];
+        if (total <= 0) {
+            return values.get(random.nextInt(values.size()));
+        }
+        return values.get(firstAbove(cumulativeLikelihoods, random.nextDouble(total)));
+    }
+
+    //Index of the first entry of the ascending array that is strictly greater than target
+    static int firstAbove(double[] cumulative, double target) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] > target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,26 @@
+package genetics.math;
+
+import java.util.List;
+
+//Selection schemes a population can breed with, each builds its selector once per generation
+public enum SelectionStrategy {
+    ROULETTE,
+    ALIAS,
+    TOURNAMENT,
+    RANK;
+
+    public static final int TOURNAMENT_SIZE = 3;
+    public static final double RANK_SELECTION_PRESSURE = 1.5;
+
+    public <T extends ProbableSelection> Selector<T> selectorFor(List<T> values) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Cannot select from an empty list");
+        }
+        return switch (this) {
+            case ROULETTE -> new RouletteSelector<>(values);
+            case ALIAS -> new AliasSelector<>(values);
+            case TOURNAMENT -> new TournamentSelector<>(values, TOURNAMENT_SIZE);
+            case RANK -> new RankSelector<>(values, RANK_SELECTION_PRESSURE);
+        };
+    }
+}
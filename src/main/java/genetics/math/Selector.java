@@ -0,0 +1,8 @@
+package genetics.math;
+
+import java.util.random.RandomGenerator;
+
+//Chooses one value per call according to the likelihoods of the values it was built from
+public interface Selector<T extends ProbableSelection> {
+    T select(RandomGenerator random);
+}
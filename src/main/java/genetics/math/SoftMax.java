@@ -1,18 +1,43 @@
 package genetics.math;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class SoftMax {
     public static List<Double> calculateSoftMax(List<Double> inputs) {
-        double totalExponentiation = calculateTotal(inputs);
-        return inputs.stream()
-                .map(input -> Math.exp(input) / totalExponentiation)
-                .toList();
+        double[] values = inputs.stream().mapToDouble(Double::doubleValue).toArray();
+        return Arrays.stream(calculateSoftMax(values, 1, values)).boxed().toList();
     }
 
-    private static double calculateTotal(List<Double> inputs) {
-        return inputs.stream()
-                .mapToDouble(Math::exp)
-                .sum();
+    /*
+        exp((x - max) / temperature) / sum, the log-sum-exp form that cannot overflow whatever the fitness range.
+        Higher temperatures flatten the distribution, lower ones sharpen it towards the maximum.
+        The result is written into output, which is allocated only when it is null or too small,
+        so callers can reuse the same buffer every generation. Output may be the inputs array itself.
+     */
+    public static double[] calculateSoftMax(double[] inputs, int length, double temperature, double[] output) {
+        if (temperature <= 0) {
+            throw new IllegalArgumentException("The temperature must be positive");
+        }
+        if (output == null || output.length < length) {
+            output = new double[length];
+        }
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < length; i++) {
+            max = Math.max(max, inputs[i]);
+        }
+        double total = 0;
+        for (int i = 0; i < length; i++) {
+            output[i] = Math.exp((inputs[i] - max) / temperature);
+            total += output[i];
+        }
+        for (int i = 0; i < length; i++) {
+            output[i] /= total;
+        }
+        return output;
+    }
+
+    public static double[] calculateSoftMax(double[] inputs, double temperature, double[] output) {
+        return calculateSoftMax(inputs, inputs.length, temperature, output);
     }
 }
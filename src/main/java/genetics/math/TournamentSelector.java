@@ -0,0 +1,36 @@
+package genetics.math;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+//Draws tournamentSize values uniformly and returns the most likely one, O(tournamentSize) per selection
+public class TournamentSelector<T extends ProbableSelection> implements Selector<T> {
+
+    private final List<T> values;
+    private final double[] likelihoods;
+    private final int tournamentSize;
+
+    public TournamentSelector(List<T> values, int tournamentSize) {
+        if (tournamentSize < 1) {
+            throw new IllegalArgumentException("The tournament size must be at least 1");
+        }
+        this.values = values;
+        this.tournamentSize = tournamentSize;
+        this.likelihoods = new double[values.size()];
+        for (int i = 0; i < values.size(); i++) {
+            likelihoods[i] = values.get(i).calculateLikelyHood();
+        }
+    }
+
+    @Override
+    public T select(RandomGenerator random) {
+        int winner = random.nextInt(likelihoods.length);
+        for (int round = 1; round < tournamentSize; round++) {
+            int challenger = random.nextInt(likelihoods.length);
+            if (likelihoods[challenger] > likelihoods[winner]) {
+                winner = challenger;
+            }
+        }
+        return values.get(winner);
+    }
+}
@@ -0,0 +1,76 @@
+package genetics.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+//Flight Recorder event covering one generation, enable with -XX:StartFlightRecording or `jcmd <pid> JFR.start`
+@Name("genetics.Generation")
+@Label("Generation")
+@Category("Genetic Algorithm")
+@Description("Phase timings, throughput and fitness spread of one generation")
+@StackTrace(false)
+public class GenerationEvent extends Event {
+
+    @Label("Generation")
+    public int generation;
+
+    @Label("Cull Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long cullNanos;
+
+    @Label("Reproduce Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long reproduceNanos;
+
+    @Label("Rank Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long rankNanos;
+
+    @Label("Evaluations")
+    public int evaluations;
+
+    @Label("Evaluations Per Second")
+    public double evaluationsPerSecond;
+
+    @Label("Best Fitness")
+    public double bestFitness;
+
+    @Label("Average Fitness")
+    public double averageFitness;
+
+    @Label("Worst Fitness")
+    public double worstFitness;
+
+    @Label("Diversity")
+    @Percentage
+    public double diversity;
+
+    @Label("Gene Entropy")
+    @Description("Mean normalised entropy of the gene values, 0 when all individuals agree")
+    public double geneEntropy;
+
+    @Label("Cache Hit Rate")
+    @Percentage
+    public double cacheHitRate;
+
+    public void set(GenerationMetrics metrics) {
+        generation = metrics.generation();
+        cullNanos = metrics.cullNanos();
+        reproduceNanos = metrics.reproduceNanos();
+        rankNanos = metrics.rankNanos();
+        evaluations = metrics.evaluations();
+        evaluationsPerSecond = metrics.evaluationsPerSecond();
+        bestFitness = metrics.bestFitness();
+        averageFitness = metrics.averageFitness();
+        worstFitness = metrics.worstFitness();
+        diversity = metrics.diversity();
+        geneEntropy = metrics.geneEntropy();
+        cacheHitRate = metrics.cacheHitRate();
+    }
+}
@@ -0,0 +1,7 @@
+package genetics.metrics;
+
+//Notified on the evolving thread after every generation, implementations should return quickly
+@FunctionalInterface
+public interface GenerationListener {
+    void onGeneration(GenerationMetrics metrics);
+}
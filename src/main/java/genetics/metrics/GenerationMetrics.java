@@ -0,0 +1,25 @@
+package genetics.metrics;
+
+/*
+    Summary of one generation. Phase times are in nanoseconds, local search and the diversity response are in none
+    of them. evaluationsPerSecond covers the evaluations of ranking, which pipelined generations do while reproducing.
+    diversity is the fraction of distinct schedules in the population, geneEntropy the mean normalised entropy of the
+    gene values (0 when all individuals agree). cacheHitRate is NaN without a fitness cache.
+ */
+public record GenerationMetrics(int generation,
+                                long cullNanos,
+                                long reproduceNanos,
+                                long rankNanos,
+                                int evaluations,
+                                double evaluationsPerSecond,
+                                double bestFitness,
+                                double averageFitness,
+                                double worstFitness,
+                                double diversity,
+                                double geneEntropy,
+                                double cacheHitRate) {
+
+    public long totalNanos() {
+        return cullNanos + reproduceNanos + rankNanos;
+    }
+}
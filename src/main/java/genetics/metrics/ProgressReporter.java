@@ -0,0 +1,148 @@
+package genetics.metrics;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Reports progress without slowing the evolving threads down. Sampled generations are handed to a bounded queue
+    and written as one key=value line each by a background thread, which flushes whenever it has caught up.
+    A generation is sampled every sampleInterval generations and whenever the best fitness seen so far improves.
+    When the queue is full the sample is dropped and counted instead of blocking the caller.
+ */
+public final class ProgressReporter implements GenerationListener, AutoCloseable {
+
+    private record Sample(String source, GenerationMetrics metrics) {
+    }
+
+    private static final Sample END = new Sample("", null);
+
+    private final Writer writer;
+    private final int sampleInterval;
+    private final BlockingQueue<Sample> queue;
+    private final AtomicLong bestFitnessBits = new AtomicLong(Double.doubleToLongBits(Double.NEGATIVE_INFINITY));
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile IOException failure;
+    private boolean closed;
+
+    public ProgressReporter(Writer writer, int sampleInterval, int queueCapacity) {
+        if(sampleInterval < 1) {
+            throw new IllegalArgumentException("The sample interval must be at least one generation");
+        }
+        this.writer = writer;
+        this.sampleInterval = sampleInterval;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::drain, "progress-reporter");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public static ProgressReporter toRotatingFile(Path path, long maxBytes, int maxFiles, int sampleInterval, int queueCapacity) throws IOException {
+        return new ProgressReporter(new RotatingFileWriter(path, maxBytes, maxFiles), sampleInterval, queueCapacity);
+    }
+
+    //Closing the reporter flushes standard out but leaves it open
+    public static ProgressReporter toConsole(int sampleInterval, int queueCapacity) {
+        Writer console = new FilterWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        return new ProgressReporter(console, sampleInterval, queueCapacity);
+    }
+
+    @Override
+    public void onGeneration(GenerationMetrics metrics) {
+        if(improvesBest(metrics.bestFitness()) || metrics.generation() % sampleInterval == 0) {
+            if(!queue.offer(new Sample(Thread.currentThread().getName(), metrics))) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean improvesBest(double fitness) {
+        long current = bestFitnessBits.get();
+        while(fitness > Double.longBitsToDouble(current)) {
+            if(bestFitnessBits.compareAndSet(current, Double.doubleToLongBits(fitness))) {
+                return true;
+            }
+            current = bestFitnessBits.get();
+        }
+        return false;
+    }
+
+    private void drain() {
+        try {
+            while(true) {
+                Sample sample = queue.take();
+                if(sample == END) {
+                    break;
+                }
+                writer.write(format(sample));
+                if(queue.isEmpty()) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String format(Sample sample) {
+        GenerationMetrics metrics = sample.metrics();
+        return String.format(Locale.ROOT,
+                "source=%s generation=%d best=%.4f average=%.4f worst=%.4f diversity=%.3f entropy=%.3f evaluations=%d"
+                        + " evaluationsPerSecond=%.0f generationMicros=%d cacheHitRate=%.3f%n",
+                sample.source(),
+                metrics.generation(),
+                metrics.bestFitness(),
+                metrics.averageFitness(),
+                metrics.worstFitness(),
+                metrics.diversity(),
+                metrics.geneEntropy(),
+                metrics.evaluations(),
+                metrics.evaluationsPerSecond(),
+                metrics.totalNanos() / 1_000,
+                metrics.cacheHitRate());
+    }
+
+    //Samples that were dropped because the writer could not keep up
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    //Writes everything still queued, then closes the writer. Rethrows the first write failure, if any.
+    @Override
+    public synchronized void close() throws IOException {
+        if(closed) {
+            return;
+        }
+        closed = true;
+        try {
+            while(thread.isAlive() && !queue.offer(END, 10, TimeUnit.MILLISECONDS)) {
+                //the writer is still catching up
+            }
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writer.close();
+        }
+        if(failure != null) {
+            throw failure;
+        }
+    }
+}
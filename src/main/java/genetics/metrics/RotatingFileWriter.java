@@ -0,0 +1,76 @@
+package genetics.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/*
+    Appends to path until it reaches maxBytes, then shifts path.1 to path.2 and so on, keeping at most
+    maxFiles old files, and starts over with an empty path. Rolls over between writes only, lines never split.
+ */
+final class RotatingFileWriter extends Writer {
+
+    private final Path path;
+    private final long maxBytes;
+    private final int maxFiles;
+    private Writer writer;
+    private long size;
+
+    RotatingFileWriter(Path path, long maxBytes, int maxFiles) throws IOException {
+        if(maxBytes < 1 || maxFiles < 0) {
+            throw new IllegalArgumentException("A rotating file needs a positive size and a non negative number of old files");
+        }
+        this.path = path;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        open();
+    }
+
+    private void open() throws IOException {
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(path);
+    }
+
+    private void rotate() throws IOException {
+        writer.close();
+        if(maxFiles == 0) {
+            Files.delete(path);
+        } else {
+            Files.deleteIfExists(rotated(maxFiles));
+            for(int i = maxFiles - 1; i >= 1; i--) {
+                if(Files.exists(rotated(i))) {
+                    Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(path, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private Path rotated(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        if(size > 0 && size + length > maxBytes) {
+            rotate();
+        }
+        writer.write(buffer, offset, length);
+        size += length; //chars, which is exact for the ASCII lines the reporter writes
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,59 @@
+package genetics.rules;
+
+import genetics.Chromosome;
+import schedule.ScheduleProblem;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/*
+    See schedule.Constraint.ConsecutiveSections. Combinations are tried with the course 2 section in the outer loop,
+    which is the order the original SLA 101 / SLA 191 rules were written in.
+ */
+public final class ConsecutiveSectionsRule implements FitnessRule {
+
+    private final int[] course1Sections;
+    private final int[] course2Sections;
+    private final FitnessRules rules;
+
+    ConsecutiveSectionsRule(int[] course1Sections, int[] course2Sections, FitnessRules rules) {
+        this.course1Sections = course1Sections;
+        this.course2Sections = course2Sections;
+        this.rules = rules;
+    }
+
+    @Override
+    public double score(Chromosome chromosome) {
+        ScheduleProblem problem = chromosome.problem();
+        boolean separated = false;
+        boolean sameSlot = false;
+        for(int section2 : course2Sections) {
+            for(int section1 : course1Sections) {
+                int time1 = chromosome.time(section1);
+                int time2 = chromosome.time(section2);
+                int hours = problem.hoursBetween(time1, time2);
+                if(hours == 1) {
+                    double fitnessScore = 0.5;
+                    if(rules.farApart(chromosome.room(section1), chromosome.room(section2))) {
+                        fitnessScore -= 0.4;
+                    }
+                    return fitnessScore;
+                }
+                separated |= hours > 1;
+                sameSlot |= time1 == time2;
+            }
+        }
+        if(separated) {
+            return 0.25;
+        }
+        else if(sameSlot) {
+            return -0.25;
+        }
+        return 0;
+    }
+
+    @Override
+    public int[] genes() {
+        return IntStream.concat(Arrays.stream(course1Sections), Arrays.stream(course2Sections)).toArray();
+    }
+}
@@ -0,0 +1,10 @@
+package genetics.rules;
+
+import genetics.Chromosome;
+
+//A constraint resolved to gene indices, its score only changes when one of its genes changes
+public interface FitnessRule {
+    double score(Chromosome chromosome);
+
+    int[] genes();
+}
@@ -0,0 +1,93 @@
+package genetics.rules;
+
+import schedule.Constraint;
+import schedule.ScheduleProblem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    The constraints of a problem compiled into a flat array of rules. Names are resolved to activity and room
+    indices once per problem, so scoring never looks anything up by name. For every gene the rules that read it
+    are listed, a gene change only has to re-score those.
+ */
+public final class FitnessRules {
+    private static final int[] NO_RULES = new int[0];
+
+    private final FitnessRule[] rules;
+    private final int[][] rulesByGene;
+    private final boolean[] distantRooms;
+
+    private FitnessRules(ScheduleProblem problem) {
+        distantRooms = new boolean[problem.roomCount()];
+        for(String roomName : problem.distantRooms()) {
+            distantRooms[problem.findRoomIndex(roomName)] = true;
+        }
+
+        rules = new FitnessRule[problem.constraints().size()];
+        for(int i = 0; i < rules.length; i++) {
+            rules[i] = compile(problem, problem.constraints().get(i));
+        }
+
+        List<List<Integer>> watchers = new ArrayList<>(problem.activityCount());
+        for(int gene = 0; gene < problem.activityCount(); gene++) {
+            watchers.add(new ArrayList<>());
+        }
+        for(int i = 0; i < rules.length; i++) {
+            for(int gene : rules[i].genes()) {
+                if(!watchers.get(gene).contains(i)) {
+                    watchers.get(gene).add(i);
+                }
+            }
+        }
+        rulesByGene = new int[problem.activityCount()][];
+        for(int gene = 0; gene < rulesByGene.length; gene++) {
+            List<Integer> geneRules = watchers.get(gene);
+            rulesByGene[gene] = geneRules.isEmpty() ? NO_RULES : geneRules.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    //Callers keep the result, genetics.CompiledProblem compiles every problem once
+    public static FitnessRules compile(ScheduleProblem problem) {
+        return new FitnessRules(problem);
+    }
+
+    private FitnessRule compile(ScheduleProblem problem, Constraint constraint) {
+        if(constraint instanceof Constraint.SectionSpacing spacing) {
+            return new SectionSpacingRule(problem.activityIndex(spacing.section1()), problem.activityIndex(spacing.section2()));
+        }
+        else if(constraint instanceof Constraint.ConsecutiveSections consecutive) {
+            return new ConsecutiveSectionsRule(
+                    activityIndices(problem, consecutive.course1Sections()),
+                    activityIndices(problem, consecutive.course2Sections()),
+                    this
+            );
+        }
+        throw new IllegalArgumentException("Unsupported constraint " + constraint);
+    }
+
+    private static int[] activityIndices(ScheduleProblem problem, List<String> activityNames) {
+        return activityNames.stream().mapToInt(problem::activityIndex).toArray();
+    }
+
+    public int count() {
+        return rules.length;
+    }
+
+    public FitnessRule rule(int index) {
+        return rules[index];
+    }
+
+    //Indices of the rules whose score depends on gene
+    public int[] rulesFor(int gene) {
+        return rulesByGene[gene];
+    }
+
+    /*
+        Only one of the two rooms is in a distant building.
+        It’s fine if neither is, we just want to avoid having consecutive activities being widely separated.
+     */
+    public boolean farApart(int room1, int room2) {
+        return distantRooms[room1] != distantRooms[room2];
+    }
+}
@@ -0,0 +1,33 @@
+package genetics.rules;
+
+import genetics.Chromosome;
+
+//See schedule.Constraint.SectionSpacing
+public final class SectionSpacingRule implements FitnessRule {
+
+    private final int section1;
+    private final int section2;
+
+    public SectionSpacingRule(int section1, int section2) {
+        this.section1 = section1;
+        this.section2 = section2;
+    }
+
+    @Override
+    public double score(Chromosome chromosome) {
+        int time1 = chromosome.time(section1);
+        int time2 = chromosome.time(section2);
+        if(chromosome.problem().hoursBetween(time1, time2) > 4) {
+            return 0.5;
+        }
+        else if(time1 == time2) {
+            return -0.5;
+        }
+        return 0;
+    }
+
+    @Override
+    public int[] genes() {
+        return new int[]{section1, section2};
+    }
+}
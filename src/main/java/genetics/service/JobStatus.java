@@ -0,0 +1,15 @@
+package genetics.service;
+
+import genetics.SolverResult;
+
+import java.time.Duration;
+
+//Progress of a SolveJob as of its last finished slice, stopReason is null until the job has finished
+public record JobStatus(long id,
+                        SolveJob.State state,
+                        int generations,
+                        long evaluations,
+                        double bestFitness,
+                        Duration elapsed,
+                        SolverResult.StopReason stopReason) {
+}
@@ -0,0 +1,170 @@
+package genetics.service;
+
+import genetics.AnytimeSolver;
+import genetics.Individual;
+import genetics.Population;
+import genetics.SolverBudget;
+import genetics.SolverResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/*
+    One problem being solved by a SolverService. The job never holds a thread of its own: the service runs it one
+    time slice at a time and queues it again behind the other jobs until its budget is used up. The time limit
+    counts from submission, so time spent waiting for a worker is part of it.
+    Status, best-so-far and cancel may be used from any thread, only the service runs slices.
+ */
+public final class SolveJob {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        DONE,
+        CANCELLED,
+        FAILED
+    }
+
+    private final long id;
+    private final SolverBudget budget;
+    private final long submitted = System.nanoTime();
+    private final long deadline;
+    private final CompletableFuture<SolverResult> result = new CompletableFuture<>();
+    //Both released once the job has finished, only the best copy is kept
+    private Population population;
+    private volatile AnytimeSolver solver;
+    private volatile Individual best;
+    private volatile State state = State.QUEUED;
+    private volatile JobStatus status;
+    private volatile Throwable failure;
+
+    SolveJob(long id, Population population, SolverBudget budget) {
+        this.id = id;
+        this.population = population;
+        this.budget = budget;
+        this.deadline = submitted + budget.timeLimit().toNanos();
+        this.solver = new AnytimeSolver(population);
+        this.status = snapshot(null);
+    }
+
+    //Runs at most one slice of the budget and returns whether the job has to be scheduled again
+    boolean runSlice(Duration slice) {
+        AnytimeSolver solver = this.solver;
+        if(solver.isCancelled()) {
+            finish(State.CANCELLED, SolverResult.StopReason.CANCELLED);
+            return false;
+        }
+        if(population.getEvaluationCount() >= budget.maxEvaluations()) {
+            finish(State.DONE, SolverResult.StopReason.EVALUATION_LIMIT);
+            return false;
+        }
+        state = State.RUNNING;
+        long remaining = deadline - System.nanoTime();
+        //The solver does not start a generation predicted to outlast the slice, so the slice is extended by one
+        long sliceNanos = Math.max(1, Math.min(slice.toNanos() + solver.getPredictedGenerationNanos(), remaining));
+        SolverBudget sliceBudget = new SolverBudget(
+                Duration.ofNanos(sliceNanos),
+                budget.maxEvaluations() - population.getEvaluationCount(),
+                budget.targetFitness()
+        );
+        SolverResult.StopReason stopReason = solver.solve(sliceBudget).stopReason();
+        switch (stopReason) {
+            case CANCELLED -> finish(State.CANCELLED, stopReason);
+            case TARGET_REACHED, EVALUATION_LIMIT -> finish(State.DONE, stopReason);
+            case TIME_LIMIT -> {
+                if(sliceNanos == remaining || deadline - System.nanoTime() <= 0) {
+                    finish(State.DONE, stopReason);
+                } else {
+                    state = State.QUEUED;
+                    status = snapshot(null);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void finish(State finalState, SolverResult.StopReason stopReason) {
+        JobStatus finalStatus = snapshot(stopReason);
+        Individual finalBest = solver.getBestSoFar();
+        release(finalBest, finalStatus);
+        state = finalState;
+        result.complete(new SolverResult(finalBest, stopReason, finalStatus.generations(),
+                finalStatus.evaluations(), finalStatus.elapsed()));
+    }
+
+    void fail(Throwable throwable) {
+        JobStatus lastStatus = status;
+        failure = throwable;
+        release(solver.getBestSoFar(), new JobStatus(id, State.FAILED, lastStatus.generations(), lastStatus.evaluations(),
+                Math.max(lastStatus.bestFitness(), solver.getBestFitness()), elapsed(), null));
+        state = State.FAILED;
+        result.completeExceptionally(throwable);
+    }
+
+    //Readers switch from the solver to best and status, which are therefore set first
+    private void release(Individual finalBest, JobStatus finalStatus) {
+        best = finalBest;
+        status = finalStatus;
+        population = null;
+        solver = null;
+    }
+
+    private JobStatus snapshot(SolverResult.StopReason stopReason) {
+        return new JobStatus(id, state, population.getGenerationCount(), population.getEvaluationCount(),
+                solver.getBestFitness(), elapsed(), stopReason);
+    }
+
+    private Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - submitted);
+    }
+
+    //A queued job ends before its next slice, a running one after its current generation
+    public void cancel() {
+        AnytimeSolver current = solver;
+        if(current != null) {
+            current.cancel();
+        }
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public boolean isFinished() {
+        State current = state;
+        return current == State.DONE || current == State.CANCELLED || current == State.FAILED;
+    }
+
+    //Counters of the last finished slice with the current state, the best fitness is always current
+    public JobStatus status() {
+        AnytimeSolver current = solver;
+        JobStatus last = status;
+        double bestFitness = current == null ? last.bestFitness() : Math.max(last.bestFitness(), current.getBestFitness());
+        return new JobStatus(id, state, last.generations(), last.evaluations(),
+                bestFitness, isFinished() ? last.elapsed() : elapsed(), last.stopReason());
+    }
+
+    //Copy of the fittest schedule found so far, null before the first generation finished
+    public Individual bestSoFar() {
+        AnytimeSolver current = solver;
+        if(current != null) {
+            return current.getBestSoFar();
+        }
+        Individual finalBest = best;
+        return finalBest == null ? null : finalBest.copy();
+    }
+
+    //Completes when the job has finished, exceptionally if it failed
+    public CompletableFuture<SolverResult> result() {
+        return result;
+    }
+
+    public Throwable failure() {
+        return failure;
+    }
+}
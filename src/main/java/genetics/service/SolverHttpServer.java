@@ -0,0 +1,196 @@
+package genetics.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import genetics.GeneticConstants;
+import genetics.Individual;
+import genetics.SolverBudget;
+import schedule.ProblemLoader;
+import schedule.ScheduleProblem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+    Plain text HTTP front end of a SolverService, bound to the loopback interface only:
+
+        POST   /jobs?timeLimit=<seconds>&maxEvaluations=<n>&target=<fitness>&seed=<n>
+               body: the problem in ProblemLoader's CSV format, all parameters optional
+               202 with the job's status line, 400 for a bad problem, 503 when the service is full
+        GET    /jobs               one status line per known job
+        GET    /jobs/<id>          status line
+        GET    /jobs/<id>/result   200 with the best schedule once the job has finished, 202 and the status before
+        DELETE /jobs/<id>          cancels the job, 202 with its status line
+
+    Status lines are key=value pairs like the progress log. Requests are answered on one thread, none of them waits
+    for a job.
+ */
+public final class SolverHttpServer implements AutoCloseable {
+
+    private final SolverService service;
+    private final HttpServer server;
+
+    private SolverHttpServer(SolverService service, HttpServer server) {
+        this.service = service;
+        this.server = server;
+    }
+
+    //Port 0 picks a free port, see port()
+    public static SolverHttpServer start(SolverService service, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        SolverHttpServer solverHttpServer = new SolverHttpServer(service, server);
+        server.createContext("/jobs", solverHttpServer::handle);
+        server.start();
+        return solverHttpServer;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            String method = exchange.getRequestMethod();
+            if(path.length == 1 && method.equals("POST")) {
+                submit(exchange);
+            } else if(path.length == 1 && method.equals("GET")) {
+                StringBuilder lines = new StringBuilder();
+                for(SolveJob job : service.jobs()) {
+                    lines.append(format(job.status()));
+                }
+                respond(exchange, 200, lines.toString());
+            } else if(path.length == 2 || (path.length == 3 && path[2].equals("result"))) {
+                Optional<SolveJob> job = parseId(path[1]).flatMap(service::job);
+                if(job.isEmpty()) {
+                    respond(exchange, 404, "Unknown job '" + path[1] + "'\n");
+                } else if(path.length == 3 && method.equals("GET")) {
+                    result(exchange, job.get());
+                } else if(method.equals("GET")) {
+                    respond(exchange, 200, format(job.get().status()));
+                } else if(method.equals("DELETE")) {
+                    job.get().cancel();
+                    respond(exchange, 202, format(job.get().status()));
+                } else {
+                    respond(exchange, 405, "Method " + method + " not allowed\n");
+                }
+            } else {
+                respond(exchange, 404, "Unknown resource\n");
+            }
+        }
+    }
+
+    private void submit(HttpExchange exchange) throws IOException {
+        ScheduleProblem problem;
+        SolverBudget budget;
+        Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+        try {
+            problem = ProblemLoader.load(new StringReader(readBody(exchange.getRequestBody())));
+            budget = new SolverBudget(
+                    Duration.ofMillis(parameters.containsKey("timeLimit")
+                            ? Math.round(Double.parseDouble(parameters.get("timeLimit")) * 1000)
+                            : GeneticConstants.SERVICE_TIME_LIMIT_MILLIS),
+                    parameters.containsKey("maxEvaluations") ? Long.parseLong(parameters.get("maxEvaluations")) : Long.MAX_VALUE,
+                    parameters.containsKey("target") ? Double.parseDouble(parameters.get("target")) : Double.POSITIVE_INFINITY
+            );
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, e.getMessage() + "\n");
+            return;
+        }
+        try {
+            SolveJob job = parameters.containsKey("seed")
+                    ? service.submit(problem, budget, Long.parseLong(parameters.get("seed")))
+                    : service.submit(problem, budget);
+            exchange.getResponseHeaders().set("Location", "/jobs/" + job.id());
+            respond(exchange, 202, format(job.status()));
+        } catch (NumberFormatException e) {
+            respond(exchange, 400, e.getMessage() + "\n");
+        } catch (RejectedExecutionException e) {
+            respond(exchange, 503, e.getMessage() + "\n");
+        }
+    }
+
+    private void result(HttpExchange exchange, SolveJob job) throws IOException {
+        Individual best = job.bestSoFar();
+        if(!job.isFinished()) {
+            respond(exchange, 202, format(job.status()));
+        } else if(job.state() == SolveJob.State.FAILED) {
+            respond(exchange, 500, format(job.status()) + job.failure() + "\n");
+        } else if(best == null) {
+            respond(exchange, 404, format(job.status()));
+        } else {
+            respond(exchange, 200, format(job.status()) + best.niceFormat() + "\n");
+        }
+    }
+
+    //Problems larger than SERVICE_MAX_PROBLEM_BYTES are refused rather than read into memory
+    private static String readBody(InputStream body) throws IOException {
+        byte[] bytes = body.readNBytes(GeneticConstants.SERVICE_MAX_PROBLEM_BYTES + 1);
+        if(bytes.length > GeneticConstants.SERVICE_MAX_PROBLEM_BYTES) {
+            throw new IllegalArgumentException("The problem is larger than " + GeneticConstants.SERVICE_MAX_PROBLEM_BYTES + " bytes");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> parameters(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if(query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for(String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if(separator > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static Optional<Long> parseId(String id) {
+        try {
+            return Optional.of(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String format(JobStatus status) {
+        return String.format(Locale.ROOT,
+                "job=%d state=%s generation=%d evaluations=%d best=%.4f elapsedMillis=%d stopReason=%s%n",
+                status.id(),
+                status.state(),
+                status.generations(),
+                status.evaluations(),
+                status.bestFitness(),
+                status.elapsed().toMillis(),
+                status.stopReason() == null ? "-" : status.stopReason());
+    }
+
+    private static void respond(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    //Stops accepting requests, the service is left running
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,152 @@
+package genetics.service;
+
+import genetics.DiversityPolicy;
+import genetics.GeneticConstants;
+import genetics.Population;
+import genetics.SolverBudget;
+import schedule.ScheduleProblem;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Solves many problems in one JVM. Every job has its own Population and they all share a fixed pool of worker
+    threads, one per core by default. Workers run jobs a time slice at a time from one FIFO queue and a job that
+    still has budget left goes to the back of it, so jobs share the workers round robin and a long job cannot starve
+    the ones submitted after it. Populations breed and rank on their worker only, the parallelism is across jobs.
+    At most maxActiveJobs unfinished jobs are accepted. Finished jobs keep only their result, the oldest ones are
+    forgotten once more than SERVICE_RETAINED_JOBS have finished.
+ */
+public final class SolverService implements AutoCloseable {
+
+    private final ExecutorService workers;
+    private final Duration slice;
+    private final Semaphore activeJobs;
+    private final Map<Long, SolveJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<Long> finishedJobs = new ConcurrentLinkedQueue<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final SplittableRandom seeds = new SplittableRandom();
+
+    public SolverService(int threads, int maxActiveJobs, Duration slice) {
+        if(threads < 1) {
+            throw new IllegalArgumentException("At least one worker thread is required");
+        }
+        if(maxActiveJobs < 1) {
+            throw new IllegalArgumentException("At least one job must be allowed");
+        }
+        if(slice.isNegative() || slice.isZero()) {
+            throw new IllegalArgumentException("The time slice must be positive");
+        }
+        this.slice = slice;
+        this.activeJobs = new Semaphore(maxActiveJobs);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "solver-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static SolverService withDefaults() {
+        return new SolverService(Runtime.getRuntime().availableProcessors(), GeneticConstants.SERVICE_MAX_JOBS,
+                Duration.ofMillis(GeneticConstants.SERVICE_SLICE_MILLIS));
+    }
+
+    public SolveJob submit(ScheduleProblem problem, SolverBudget budget) {
+        long seed;
+        synchronized (seeds) {
+            seed = seeds.nextLong();
+        }
+        return submit(problem, budget, seed);
+    }
+
+    //Throws RejectedExecutionException when maxActiveJobs jobs are unfinished or the service is closed
+    public SolveJob submit(ScheduleProblem problem, SolverBudget budget, long seed) {
+        if(workers.isShutdown()) {
+            throw new RejectedExecutionException("The service is closed");
+        }
+        if(!activeJobs.tryAcquire()) {
+            throw new RejectedExecutionException("Too many unfinished jobs");
+        }
+        try {
+            Population population = new Population(problem, GeneticConstants.POP_SIZE, new SplittableRandom(seed));
+            population.setParallelRanking(false);
+            population.setBreedingThreads(1);
+            population.setDiversityPolicy(DiversityPolicy.defaultPolicy());
+            population.setRecycleIndividuals(true);
+            SolveJob job = new SolveJob(nextId.getAndIncrement(), population, budget);
+            jobs.put(job.id(), job);
+            schedule(job);
+            return job;
+        } catch (RuntimeException e) {
+            activeJobs.release();
+            throw e;
+        }
+    }
+
+    private void schedule(SolveJob job) {
+        try {
+            workers.execute(() -> runSlice(job));
+        } catch (RejectedExecutionException e) {
+            //Closed in the meantime
+            job.cancel();
+            job.runSlice(slice); //only records the cancellation
+            finished(job);
+        }
+    }
+
+    private void runSlice(SolveJob job) {
+        boolean more;
+        try {
+            more = job.runSlice(slice);
+        } catch (Throwable t) {
+            job.fail(t);
+            more = false;
+        }
+        if(more) {
+            schedule(job);
+        } else {
+            finished(job);
+        }
+    }
+
+    private void finished(SolveJob job) {
+        activeJobs.release();
+        finishedJobs.add(job.id());
+        while(finishedJobs.size() > GeneticConstants.SERVICE_RETAINED_JOBS) {
+            Long oldest = finishedJobs.poll();
+            if(oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+
+    public Optional<SolveJob> job(long id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public Collection<SolveJob> jobs() {
+        return jobs.values();
+    }
+
+    //Cancels every unfinished job and stops the workers once their current slices are done
+    @Override
+    public void close() {
+        for(SolveJob job : jobs.values()) {
+            job.cancel();
+        }
+        workers.shutdown();
+    }
+}
@@ -1,30 +1,189 @@
 package org.khan;
 
+import genetics.AnytimeSolver;
+import genetics.DiversityPolicy;
 import genetics.GeneticConstants;
+import genetics.IslandModel;
+import genetics.LocalSearch;
+import genetics.MigrationPolicy;
 import genetics.Population;
+import genetics.PopulationCheckpoint;
+import genetics.SolverBudget;
+import genetics.SolverResult;
+import genetics.SteadyStatePopulation;
+import genetics.metrics.ProgressReporter;
+import genetics.service.SolverHttpServer;
+import genetics.service.SolverService;
+import schedule.ProblemLoader;
+import schedule.ScheduleProblem;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.SplittableRandom;
 
 
 public class Driver {
+    //Usage: Driver [--problem <file.csv>] [--islands [count] | --steady-state | --time-limit <seconds> [--target <fitness>]]
+    //              [--memetic] [--log <file>] [--serve [port]], --memetic does not apply to --steady-state
     public static void main(String[] args) throws IOException {
-        Population population = new Population();
+        ScheduleProblem problem = ScheduleProblem.DEFAULT;
+        int islandCount = 0;
+        LocalSearch localSearch = null;
+        Path logFile = null;
+        boolean steadyState = false;
+        SolverBudget budget = null;
+        Double targetFitness = null;
+        int servePort = -1;
+        for(int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--problem" -> problem = ProblemLoader.load(Paths.get(args[++i]));
+                case "--islands" -> islandCount = i + 1 < args.length && !args[i + 1].startsWith("--")
+                        ? Integer.parseInt(args[++i])
+                        : Runtime.getRuntime().availableProcessors();
+                case "--memetic" -> localSearch = LocalSearch.defaultSearch();
+                case "--steady-state" -> steadyState = true;
+                case "--log" -> logFile = Paths.get(args[++i]);
+                case "--time-limit" -> budget = SolverBudget.of(Duration.ofMillis(Math.round(Double.parseDouble(args[++i]) * 1000)));
+                case "--target" -> targetFitness = Double.parseDouble(args[++i]);
+                case "--serve" -> servePort = i + 1 < args.length && !args[i + 1].startsWith("--")
+                        ? Integer.parseInt(args[++i])
+                        : GeneticConstants.SERVICE_PORT;
+                default -> throw new IllegalArgumentException("Unknown argument '" + args[i] + "'");
+            }
+        }
+        if(steadyState && (localSearch != null || islandCount > 0)) {
+            throw new IllegalArgumentException("--steady-state cannot be combined with --memetic or --islands");
+        }
+        if(targetFitness != null && budget == null) {
+            throw new IllegalArgumentException("--target needs --time-limit");
+        }
+        if(budget != null && (islandCount > 0 || steadyState)) {
+            throw new IllegalArgumentException("--time-limit cannot be combined with --islands or --steady-state");
+        }
+        if(targetFitness != null) {
+            budget = budget.withTargetFitness(targetFitness);
+        }
+        if(servePort >= 0) {
+            serve(servePort);
+            return;
+        }
+        //Progress goes out as sampled key=value lines from a background thread, the schedule is only printed at the end
+        try (ProgressReporter progressReporter = logFile == null
+                ? ProgressReporter.toConsole(GeneticConstants.PROGRESS_INTERVAL, GeneticConstants.PROGRESS_QUEUE_SIZE)
+                : ProgressReporter.toRotatingFile(logFile, GeneticConstants.PROGRESS_FILE_SIZE, GeneticConstants.PROGRESS_FILES,
+                        GeneticConstants.PROGRESS_INTERVAL, GeneticConstants.PROGRESS_QUEUE_SIZE)) {
+            if(budget != null) {
+                solve(problem, localSearch, budget, progressReporter);
+            } else if(islandCount > 0) {
+                runIslands(problem, islandCount, localSearch, progressReporter);
+            } else if(steadyState) {
+                runSteadyState(problem, progressReporter);
+            } else {
+                run(problem, localSearch, progressReporter);
+            }
+        }
+    }
 
-        for(int i = 0; i < GeneticConstants.GENERATION_COUNT; i++) {
-            population.runGeneration();
-            population.printBestIndividualInformation();
+    private static void run(ScheduleProblem problem, LocalSearch localSearch, ProgressReporter progressReporter) throws IOException {
+        Path checkpoint = Paths.get(GeneticConstants.CHECKPOINT_FILE);
+        Population population = Files.exists(checkpoint)
+                ? PopulationCheckpoint.read(checkpoint, problem)
+                : new Population(problem, GeneticConstants.POP_SIZE, new SplittableRandom());
+        population.setLocalSearch(localSearch);
+        population.setDiversityPolicy(DiversityPolicy.defaultPolicy());
+        population.setRecycleIndividuals(true);
+        population.addGenerationListener(progressReporter);
+
+        for(int i = population.getGenerationCount(); i < GeneticConstants.GENERATION_COUNT; i++) {
+            runGeneration(population, checkpoint);
         }
 
         double previousAverageFitnessScore;
         do {
             previousAverageFitnessScore = population.getAverageFitness();
-            population.runGeneration();
-            population.printBestIndividualInformation();
+            runGeneration(population, checkpoint);
         } while (population.getAverageFitness() > 1.01 * previousAverageFitnessScore);
 
+        population.printBestIndividualInformation();
+        Files.writeString(Paths.get("output.txt"), population.getBestIndividual().niceFormat());
+        Files.deleteIfExists(checkpoint);
+    }
+
+    //Solves submitted problems until the JVM is stopped, the server's dispatcher thread keeps it alive
+    private static void serve(int port) throws IOException {
+        SolverService service = SolverService.withDefaults();
+        SolverHttpServer server = SolverHttpServer.start(service, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            service.close();
+        }));
+        System.out.println("Accepting jobs on http://localhost:" + server.port() + "/jobs");
+    }
+
+    //Bounded run: no checkpoints, the best schedule found when the budget runs out is the answer
+    private static void solve(ScheduleProblem problem, LocalSearch localSearch, SolverBudget budget,
+                              ProgressReporter progressReporter) throws IOException {
+        Population population = new Population(problem, GeneticConstants.POP_SIZE, new SplittableRandom());
+        population.setLocalSearch(localSearch);
+        population.setDiversityPolicy(DiversityPolicy.defaultPolicy());
+        population.setRecycleIndividuals(true);
+        population.addGenerationListener(progressReporter);
+
+        SolverResult result = new AnytimeSolver(population).solve(budget);
+        System.out.println("_______________________________________________________");
+        System.out.println("Best Individual after " + result.generations() + " generations, stopped on "
+                + result.stopReason() + " after " + result.elapsed().toMillis() + " ms");
+        System.out.println(result.best());
+        System.out.println("Fitness Score: " + result.best().getFitness());
+        System.out.println("_______________________________________________________");
+        Files.writeString(Paths.get("output.txt"), result.best().niceFormat());
+    }
+
+    private static void runGeneration(Population population, Path checkpoint) throws IOException {
+        population.runGeneration();
+        if(population.getGenerationCount() % GeneticConstants.CHECKPOINT_INTERVAL == 0) {
+            PopulationCheckpoint.write(population, checkpoint);
+        }
+    }
 
+    private static void runSteadyState(ScheduleProblem problem, ProgressReporter progressReporter) throws IOException {
+        SteadyStatePopulation population = new SteadyStatePopulation(problem, GeneticConstants.POP_SIZE, new SplittableRandom());
+        population.setDiversityPolicy(DiversityPolicy.defaultPolicy());
+        population.setRecycleIndividuals(true);
+        population.addGenerationListener(progressReporter);
+        long generationOffspring = population.size() / 2;
+        population.runOffspring(GeneticConstants.GENERATION_COUNT * generationOffspring);
+
+        double previousAverageFitnessScore;
+        do {
+            previousAverageFitnessScore = population.getAverageFitness();
+            population.runOffspring(generationOffspring);
+        } while (population.getAverageFitness() > 1.01 * previousAverageFitnessScore);
+
+        population.printBestIndividualInformation();
         Files.writeString(Paths.get("output.txt"), population.getBestIndividual().niceFormat());
     }
-}
\ No newline at end of file
+
+    private static void runIslands(ScheduleProblem problem, int islandCount, LocalSearch localSearch,
+                                   ProgressReporter progressReporter) throws IOException {
+        try (IslandModel islandModel = new IslandModel(problem, islandCount, MigrationPolicy.defaultPolicy(), System.nanoTime())) {
+            islandModel.setLocalSearch(localSearch);
+            islandModel.setDiversityPolicy(DiversityPolicy.defaultPolicy());
+            islandModel.setRecycleIndividuals(true);
+            islandModel.addGenerationListener(progressReporter);
+            islandModel.runGenerations(GeneticConstants.GENERATION_COUNT);
+
+            double previousAverageFitnessScore;
+            do {
+                previousAverageFitnessScore = islandModel.getAverageFitness();
+                islandModel.runGenerations(GeneticConstants.MIGRATION_INTERVAL);
+            } while (islandModel.getAverageFitness() > 1.01 * previousAverageFitnessScore);
+
+            islandModel.printBestIndividualInformation();
+            Files.writeString(Paths.get("output.txt"), islandModel.getBestIndividual().niceFormat());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package schedule;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/*
+    A scoring rule between specific activities, declared by name as part of a problem.
+    The genetics side resolves every constraint to activity and room indices once, when a problem is first scored.
+ */
+public sealed interface Constraint {
+
+    List<String> activityNames();
+
+    /*
+        Two sections of the same course:
+        More than 4 hours apart: + 0.5
+        In the same time slot: - 0.5
+     */
+    record SectionSpacing(String section1, String section2) implements Constraint {
+        @Override
+        public List<String> activityNames() {
+            return List.of(section1, section2);
+        }
+    }
+
+    /*
+        Sections of two courses that students take together, scored on the first matching combination:
+        A section of each is taught in consecutive time slots: + 0.5, and - 0.4 if only one of them is in a distant room
+        Otherwise a section of each is taught separated by more than 1 hour: + 0.25
+        Otherwise a section of each is taught in the same time slot: - 0.25
+     */
+    record ConsecutiveSections(List<String> course1Sections, List<String> course2Sections) implements Constraint {
+        public ConsecutiveSections {
+            course1Sections = List.copyOf(course1Sections);
+            course2Sections = List.copyOf(course2Sections);
+        }
+
+        @Override
+        public List<String> activityNames() {
+            return Stream.concat(course1Sections.stream(), course2Sections.stream()).toList();
+        }
+    }
+}
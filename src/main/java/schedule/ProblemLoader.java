@@ -0,0 +1,192 @@
+package schedule;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    Reads a problem instance line by line from a CSV file, one entity per line:
+
+        room,<name>,<capacity>
+        time,<hour>,<AM|PM>
+        facilitator,<name>
+        activity,<name>,<expected enrollment>,<preferred;facilitators>,<other;facilitators>
+        exempt,<facilitator>
+        distant,<room name>
+        spacing,<section>,<section>
+        consecutive,<course 1;sections>,<course 2;sections>
+
+    The last three declare the constraints of schedule.Constraint, names may refer to entities on later lines.
+    Blank lines and lines starting with # are ignored. Facilitators named by an activity are interned even when
+    they have no facilitator line of their own. Every entity ends up with a dense index in the ScheduleProblem.
+    An exempt facilitator is not penalized for a light load, it is interned like the facilitators of an activity.
+ */
+public final class ProblemLoader {
+
+    private final List<Activity> activities = new ArrayList<>();
+    private final List<Room> rooms = new ArrayList<>();
+    private final List<Time> times = new ArrayList<>();
+    private final List<String> facilitators = new ArrayList<>();
+    private final List<Constraint> constraints = new ArrayList<>();
+    private final List<String> distantRooms = new ArrayList<>();
+    private final List<String> loadExemptFacilitators = new ArrayList<>();
+
+    private final Set<String> activityNames = new HashSet<>();
+    private final Set<String> roomNames = new HashSet<>();
+    private final Set<Time> timeSet = new HashSet<>();
+    private final Map<String, String> internedFacilitators = new HashMap<>();
+
+    private ProblemLoader() {
+    }
+
+    public static ScheduleProblem load(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    public static ScheduleProblem load(Reader reader) throws IOException {
+        ProblemLoader loader = new ProblemLoader();
+        BufferedReader bufferedReader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        int lineNumber = 0;
+        String line;
+        while((line = bufferedReader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if(trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            try {
+                loader.parse(trimmed.split(",", -1));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return loader.build();
+    }
+
+    private void parse(String[] fields) {
+        switch (fields[0].strip()) {
+            case "room" -> {
+                expectFields(fields, 3);
+                String name = fields[1].strip();
+                if(!roomNames.add(name)) {
+                    throw new IllegalArgumentException("Duplicate room '" + name + "'");
+                }
+                rooms.add(new Room(name, parseCount(fields[2], "capacity")));
+            }
+            case "time" -> {
+                expectFields(fields, 3);
+                Time time = new Time(parseCount(fields[1], "hour"), TImeType.valueOf(fields[2].strip().toUpperCase()));
+                if(!timeSet.add(time)) {
+                    throw new IllegalArgumentException("Duplicate time '" + time.niceFormat() + "'");
+                }
+                times.add(time);
+            }
+            case "facilitator" -> {
+                expectFields(fields, 2);
+                intern(fields[1]);
+            }
+            case "activity" -> {
+                expectFields(fields, 5);
+                String name = fields[1].strip();
+                if(!activityNames.add(name)) {
+                    throw new IllegalArgumentException("Duplicate activity '" + name + "'");
+                }
+                activities.add(new Activity(
+                        name,
+                        parseCount(fields[2], "expected enrollment"),
+                        facilitatorList(fields[3]),
+                        facilitatorList(fields[4])
+                ));
+            }
+            case "distant" -> {
+                expectFields(fields, 2);
+                distantRooms.add(fields[1].strip());
+            }
+            case "exempt" -> {
+                expectFields(fields, 2);
+                loadExemptFacilitators.add(intern(fields[1]));
+            }
+            case "spacing" -> {
+                expectFields(fields, 3);
+                constraints.add(new Constraint.SectionSpacing(fields[1].strip(), fields[2].strip()));
+            }
+            case "consecutive" -> {
+                expectFields(fields, 3);
+                constraints.add(new Constraint.ConsecutiveSections(nameList(fields[1]), nameList(fields[2])));
+            }
+            default -> throw new IllegalArgumentException("Unknown entity type '" + fields[0] + "'");
+        }
+    }
+
+    private static void expectFields(String[] fields, int count) {
+        if(fields.length != count) {
+            throw new IllegalArgumentException("A " + fields[0] + " needs " + count + " fields but has " + fields.length);
+        }
+    }
+
+    private static int parseCount(String field, String name) {
+        try {
+            int value = Integer.parseInt(field.strip());
+            if(value < 0) {
+                throw new IllegalArgumentException("The " + name + " must not be negative");
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + field + "' is not a valid " + name);
+        }
+    }
+
+    private List<String> facilitatorList(String field) {
+        if(field.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(field.split(";"))
+                .map(this::intern)
+                .toList();
+    }
+
+    private static List<String> nameList(String field) {
+        List<String> names = Arrays.stream(field.split(";"))
+                .map(String::strip)
+                .filter(name -> !name.isEmpty())
+                .toList();
+        if(names.isEmpty()) {
+            throw new IllegalArgumentException("At least one section is required");
+        }
+        return names;
+    }
+
+    private String intern(String name) {
+        String stripped = name.strip();
+        if(stripped.isEmpty()) {
+            throw new IllegalArgumentException("A facilitator name must not be empty");
+        }
+        return internedFacilitators.computeIfAbsent(stripped, key -> {
+            facilitators.add(key);
+            return key;
+        });
+    }
+
+    private ScheduleProblem build() {
+        if(activities.isEmpty() || rooms.isEmpty() || times.isEmpty() || facilitators.isEmpty()) {
+            throw new IllegalArgumentException("A problem needs at least one activity, room, time and facilitator");
+        }
+        //Single point crossover cuts between the first and the last activity, so there must be one in between
+        if(activities.size() < 3) {
+            throw new IllegalArgumentException("A problem needs at least 3 activities, found " + activities.size());
+        }
+        return new ScheduleProblem(activities, rooms, times, facilitators, constraints, distantRooms, loadExemptFacilitators);
+    }
+}
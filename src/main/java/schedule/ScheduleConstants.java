@@ -101,6 +101,18 @@ public class ScheduleConstants {
 
     public static final List<Activity> ACTIVITIES = initActivities();
 
+    public static final List<Constraint> CONSTRAINTS = List.of(
+            new Constraint.SectionSpacing("SLA101A", "SLA101B"),
+            new Constraint.SectionSpacing("SLA191A", "SLA191B"),
+            new Constraint.ConsecutiveSections(List.of("SLA101A", "SLA101B"), List.of("SLA191A", "SLA191B"))
+    );
+
+    //Rooms in buildings that are a walk away from the others
+    public static final List<String> DISTANT_ROOMS = List.of("Roman 201", "Beach 201");
+
+    //Committee chair, not penalized for overseeing only 1 or 2 activities
+    public static final List<String> LOAD_EXEMPT_FACILITATORS = List.of("Tyler");
+
     private static List<Room> initRooms() {
         List<Room> roomList = new ArrayList<>();
         for(int i = 0; i < NUMBER_OF_ROOMS; i++) {
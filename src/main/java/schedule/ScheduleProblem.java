@@ -0,0 +1,183 @@
+package schedule;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Dense integer view of a scheduling problem: every activity, room, time and facilitator is addressed by its index
+public final class ScheduleProblem {
+
+    public static final ScheduleProblem DEFAULT = new ScheduleProblem(
+            ScheduleConstants.ACTIVITIES,
+            ScheduleConstants.ROOMS,
+            ScheduleConstants.TIMES,
+            ScheduleConstants.FACILITATORS,
+            ScheduleConstants.CONSTRAINTS,
+            ScheduleConstants.DISTANT_ROOMS,
+            ScheduleConstants.LOAD_EXEMPT_FACILITATORS
+    );
+
+    private final List<Activity> activities;
+    private final List<Room> rooms;
+    private final List<Time> times;
+    private final List<String> facilitators;
+    private final List<Constraint> constraints;
+    private final List<String> distantRooms;
+    private final List<String> loadExemptFacilitators;
+
+    private final Map<String, Integer> activityIndices;
+    private final Map<Room, Integer> roomIndices;
+    private final Map<Time, Integer> timeIndices;
+    private final Map<String, Integer> facilitatorIndices;
+    private final Map<String, Integer> roomNameIndices;
+
+    //Lookup tables so the hot path never has to touch the records
+    private final int[] enrollments;
+    private final int[] capacities;
+    private final int[] hours;
+
+    public ScheduleProblem(List<Activity> activities, List<Room> rooms, List<Time> times, List<String> facilitators) {
+        this(activities, rooms, times, facilitators, List.of(), List.of(), List.of());
+    }
+
+    public ScheduleProblem(List<Activity> activities, List<Room> rooms, List<Time> times, List<String> facilitators,
+                           List<Constraint> constraints, List<String> distantRooms) {
+        this(activities, rooms, times, facilitators, constraints, distantRooms, List.of());
+    }
+
+    //loadExemptFacilitators are not penalized for teaching too few activities
+    public ScheduleProblem(List<Activity> activities, List<Room> rooms, List<Time> times, List<String> facilitators,
+                           List<Constraint> constraints, List<String> distantRooms, List<String> loadExemptFacilitators) {
+        this.activities = List.copyOf(activities);
+        this.rooms = List.copyOf(rooms);
+        this.times = List.copyOf(times);
+        this.facilitators = List.copyOf(facilitators);
+        this.activityIndices = indexOf(this.activities.stream().map(Activity::name).toList());
+        this.roomIndices = indexOf(this.rooms);
+        this.timeIndices = indexOf(this.times);
+        this.facilitatorIndices = indexOf(this.facilitators);
+        this.roomNameIndices = indexOf(this.rooms.stream().map(Room::name).toList());
+        this.enrollments = this.activities.stream().mapToInt(Activity::expectedEnrollment).toArray();
+        this.capacities = this.rooms.stream().mapToInt(Room::capacity).toArray();
+        this.hours = this.times.stream().mapToInt(Time::get24HourValue).toArray();
+        for(Time time : this.times) {
+            if(time.get24HourValue() < 0 || time.get24HourValue() > 23) {
+                throw new IllegalArgumentException("'" + time.niceFormat() + "' is not a valid time of day");
+            }
+        }
+        this.constraints = List.copyOf(constraints);
+        this.distantRooms = List.copyOf(distantRooms);
+        this.loadExemptFacilitators = List.copyOf(loadExemptFacilitators);
+        for(Constraint constraint : this.constraints) {
+            constraint.activityNames().forEach(this::activityIndex);
+        }
+        for(String roomName : this.distantRooms) {
+            lookup(roomNameIndices, roomName, "room name");
+        }
+        for(String facilitator : this.loadExemptFacilitators) {
+            facilitatorIndex(facilitator);
+        }
+    }
+
+    private static <T> Map<T, Integer> indexOf(List<T> values) {
+        Map<T, Integer> indices = new HashMap<>();
+        for(int i = 0; i < values.size(); i++) {
+            indices.putIfAbsent(values.get(i), i);
+        }
+        return indices;
+    }
+
+    private static int lookup(Map<?, Integer> indices, Object value, String kind) {
+        Integer index = indices.get(value);
+        if(index == null) {
+            throw new IllegalArgumentException("'" + value + "' is not a valid " + kind);
+        }
+        return index;
+    }
+
+    public int activityIndex(String activityName) {
+        return lookup(activityIndices, activityName, "activity name");
+    }
+
+    //Index of the named room, or -1 when this problem has no such room
+    public int findRoomIndex(String roomName) {
+        return roomNameIndices.getOrDefault(roomName, -1);
+    }
+
+    public int roomIndex(Room room) {
+        return lookup(roomIndices, room, "room");
+    }
+
+    public int timeIndex(Time time) {
+        return lookup(timeIndices, time, "time");
+    }
+
+    public int facilitatorIndex(String facilitator) {
+        return lookup(facilitatorIndices, facilitator, "facilitator");
+    }
+
+    public Activity activity(int index) {
+        return activities.get(index);
+    }
+
+    public Room room(int index) {
+        return rooms.get(index);
+    }
+
+    public Time time(int index) {
+        return times.get(index);
+    }
+
+    public String facilitator(int index) {
+        return facilitators.get(index);
+    }
+
+    public int enrollment(int activity) {
+        return enrollments[activity];
+    }
+
+    public int capacity(int room) {
+        return capacities[room];
+    }
+
+    //Hour of day, 0 to 23
+    public int hour(int time) {
+        return hours[time];
+    }
+
+    public int hoursBetween(int time1, int time2) {
+        return Math.abs(hours[time1] - hours[time2]);
+    }
+
+    public List<Constraint> constraints() {
+        return constraints;
+    }
+
+    public List<String> distantRooms() {
+        return distantRooms;
+    }
+
+    public List<String> loadExemptFacilitators() {
+        return loadExemptFacilitators;
+    }
+
+    public List<Activity> activities() {
+        return activities;
+    }
+
+    public int activityCount() {
+        return activities.size();
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    public int timeCount() {
+        return times.size();
+    }
+
+    public int facilitatorCount() {
+        return facilitators.size();
+    }
+}